@@ -23,6 +23,12 @@ public class MainApp extends JFrame {
         setTitle("FCI Post Graduate Academic Seminar System");
         setSize(900, 700); 
         setDefaultCloseOperation(EXIT_ON_CLOSE);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                manager.shutdown(); // Flush pending changes before exit
+            }
+        });
         setLocationRelativeTo(null); // Center on screen
         setVisible(true);
     }
@@ -163,7 +169,20 @@ public class MainApp extends JFrame {
         cardLayout.show(mainPanel, "LOGIN");
     }
 
-    public static void main(String[] args) {
+    // Usage: java MainApp                                  (desktop application)
+    //        java MainApp --headless [port] [--listen-all] (HTTP service only, default port 8080;
+    //                                                       local connections only unless --listen-all)
+    public static void main(String[] args) throws Exception {
+        if(args.length > 0 && args[0].equals("--headless")) {
+            int port = 8080;
+            boolean listenOnAll = false;
+            for(int i = 1; i < args.length; i++) {
+                if(args[i].equals("--listen-all")) listenOnAll = true;
+                else port = Integer.parseInt(args[i]);
+            }
+            SeminarHttpServer.run(new SeminarManager(), port, listenOnAll);
+            return;
+        }
         SwingUtilities.invokeLater(MainApp::new);
     }
 }
\ No newline at end of file
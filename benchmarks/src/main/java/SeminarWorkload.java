@@ -0,0 +1,132 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Synthetic Dataset + Benchmark Operations
+// Writes a snapshot with N presentations (2 evaluations each), N/50 evaluators and
+// sessions of 20 presenters / 3 evaluators, then opens a SeminarManager on it.
+// Loading through a snapshot keeps setup fast even for a million presentations.
+public class SeminarWorkload implements bench.Workload {
+    private static final int PER_SESSION = 20;
+
+    private final File dir;
+    private final SeminarManager manager;
+    private final String[] studentIds;
+    private final String[] evaluatorIds;
+    private final SeminarSession[] sessions;
+    private final int presentationCount;
+
+    public SeminarWorkload(String dataDir, int presentations) throws Exception {
+        this.dir = new File(dataDir);
+        this.presentationCount = presentations;
+        Random rnd = new Random(42);
+
+        // Users
+        List<User> users = new ArrayList<>();
+        users.add(new Coordinator("C001", "Coordinator", "pass"));
+        evaluatorIds = new String[Math.max(10, presentations / 50)];
+        for (int i = 0; i < evaluatorIds.length; i++) {
+            evaluatorIds[i] = String.format("E%05d", i);
+            users.add(new Evaluator(evaluatorIds[i], "Evaluator " + i, "pass"));
+        }
+        studentIds = new String[presentations];
+        for (int i = 0; i < presentations; i++) {
+            studentIds[i] = String.format("S%07d", i);
+            users.add(new Student(studentIds[i], "Student " + i, "pass"));
+        }
+
+        // Presentations with two evaluations each
+        List<Presentation> presList = new ArrayList<>(presentations);
+        for (int i = 0; i < presentations; i++) {
+            Presentation p = new Presentation(studentIds[i], "Student " + i, "Research Topic " + i,
+                "Abstract of research topic " + i, "Supervisor " + (i % 40), i % 2 == 0 ? "Oral" : "Poster", "");
+            for (int k = 0; k < 2; k++) {
+                p.addEvaluation(new Evaluation(evaluatorIds[rnd.nextInt(evaluatorIds.length)],
+                    1 + rnd.nextInt(5), 1 + rnd.nextInt(5), 1 + rnd.nextInt(5), 1 + rnd.nextInt(5), "Comment " + k));
+            }
+            presList.add(p);
+        }
+
+        // Sessions (each type only gets presenters of that type)
+        List<SeminarSession> sessionList = new ArrayList<>();
+        for (int first = 0; first < presentations; first += PER_SESSION * 2) {
+            for (int type = 0; type < 2; type++) {
+                SeminarSession s = new SeminarSession("S-" + sessionList.size(), "01/01/2027", "09:00 - 12:00",
+                    "Room " + (sessionList.size() % 25), type == 0 ? "Oral" : "Poster");
+                List<String> evals = new ArrayList<>(), studs = new ArrayList<>();
+                for (int k = 0; k < 3; k++) evals.add(evaluatorIds[rnd.nextInt(evaluatorIds.length)]);
+                for (int i = first + type; i < Math.min(presentations, first + PER_SESSION * 2); i += 2) studs.add(studentIds[i]);
+                s.setAssignments(evals, studs);
+                sessionList.add(s);
+            }
+        }
+        sessions = sessionList.toArray(new SeminarSession[0]);
+
+        Files.write(new File(dir, "seminar_data.bin").toPath(),
+            SeminarCodec.encodeSnapshot(new SeminarCodec.Snapshot(users, presList, sessionList, 0)));
+        manager = new SeminarManager(dataDir);
+    }
+
+    @Override
+    public Object login(int i) {
+        return manager.login(studentIds[i % studentIds.length], "Student");
+    }
+
+    @Override
+    public Object findPresentation(int i) {
+        return manager.getPresentationByStudent(studentIds[i % studentIds.length]);
+    }
+
+    @Override
+    public void addEvaluation(int i) {
+        manager.addEvaluation(studentIds[i % studentIds.length],
+            new Evaluation(evaluatorIds[i % evaluatorIds.length], 1 + i % 5, 1 + (i >> 2) % 5, 3, 4, "Benchmark"));
+    }
+
+    @Override
+    public void assignToSession(int i) {
+        SeminarSession s = sessions[i % sessions.length];
+        manager.assignToSession(s, s.getEvaluatorIds(), s.getStudentIds());
+    }
+
+    // Same encode/decode path as saveData()/loadData(), without the journal
+    @Override
+    public long snapshotRoundTrip() throws Exception {
+        File f = new File(dir, "roundtrip.bin");
+        Files.write(f.toPath(), SeminarCodec.encodeSnapshot(new SeminarCodec.Snapshot(
+            manager.getUsersByRole(User.class), new ArrayList<>(manager.getAllPresentations()),
+            new ArrayList<>(manager.getAllSessions()), 0)));
+        return SeminarCodec.readSnapshot(f).presentations.size();
+    }
+
+    // Full startup: snapshot decode, journal replay and index rebuild
+    @Override
+    public long loadManager() {
+        SeminarManager fresh = new SeminarManager(dir.getPath());
+        long n = fresh.getAllPresentations().size();
+        fresh.shutdown();
+        return n;
+    }
+
+    @Override
+    public long writeFinalReport() throws Exception {
+        File f = new File(dir, "report.txt");
+        new ReportExporter(manager).writeFinalReport(f.toPath());
+        return f.length();
+    }
+
+    @Override
+    public void close() throws Exception {
+        manager.shutdown();
+        try (Stream<java.nio.file.Path> files = Files.walk(dir.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Override
+    public String toString() { return "SeminarWorkload(" + presentationCount + " presentations)"; }
+}
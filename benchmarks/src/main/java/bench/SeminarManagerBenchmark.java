@@ -0,0 +1,60 @@
+package bench;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// SeminarManager Hot Path Benchmarks
+// Each trial builds a fresh synthetic dataset in a temporary directory.
+// Point lookups report ns/op; whole-dataset operations (persistence, reports) report ms/op.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SeminarManagerBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int presentations;
+
+    private Workload workload;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workload = Workload.create(Files.createTempDirectory("seminar-bench").toString(), presentations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        workload.close();
+    }
+
+    // --- Point Operations ---
+    @Benchmark
+    public Object login() { return workload.login(cursor++); }
+
+    @Benchmark
+    public Object getPresentationByStudent() { return workload.findPresentation(cursor++); }
+
+    @Benchmark
+    public void addEvaluation() { workload.addEvaluation(cursor++); }
+
+    @Benchmark
+    public void assignToSession() { workload.assignToSession(cursor++); }
+
+    // --- Whole-Dataset Operations ---
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long saveLoadRoundTrip() throws Exception { return workload.snapshotRoundTrip(); }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long loadData() { return workload.loadManager(); }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long finalReport() throws Exception { return workload.writeFinalReport(); }
+}
@@ -0,0 +1,23 @@
+package bench;
+
+// Operations measured by SeminarManagerBenchmark.
+// The application classes live in the default package, which a named package cannot
+// import (and JMH refuses benchmarks in the default package), so the benchmark drives
+// them through this interface. SeminarWorkload implements it next to the app classes.
+public interface Workload {
+    Object login(int i);
+    Object findPresentation(int i);
+    void addEvaluation(int i);
+    void assignToSession(int i);
+    long snapshotRoundTrip() throws Exception;
+    long loadManager();
+    long writeFinalReport() throws Exception;
+    void close() throws Exception;
+
+    // Builds a synthetic dataset of the given size in dataDir and opens a SeminarManager on it
+    static Workload create(String dataDir, int presentations) throws Exception {
+        return (Workload) Class.forName("SeminarWorkload")
+            .getConstructor(String.class, int.class)
+            .newInstance(dataDir, presentations);
+    }
+}
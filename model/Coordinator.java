@@ -1,5 +1,6 @@
 // Coordinator Class
 
 public class Coordinator extends User {
+    private static final long serialVersionUID = 686882810200094725L; // Matches data files written before it was declared
     public Coordinator(String id, String username, String password) { super(id, username, password); }
 }
\ No newline at end of file
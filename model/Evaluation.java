@@ -2,6 +2,7 @@ import java.io.Serializable;
 
 // Evaluation Class
 public class Evaluation implements Serializable {
+    private static final long serialVersionUID = 362623766897536308L; // Matches data files written before it was declared
     
     // Evaluation Criteria Scores and Comments
     private String evaluatorId;
@@ -9,10 +10,11 @@ public class Evaluation implements Serializable {
     private int methodology;    // Score 2
     private int results;        // Score 3
     private int presentation;   // Score 4
-    private String comments;    // Qualitative Feedback
+    private String comments;    // Qualitative Feedback (null once moved to the text store)
+    private transient TextRef commentsRef;
 
     public Evaluation(String evaluatorId, int p, int m, int r, int pre, String comments) {
-        this.evaluatorId = evaluatorId;
+        this.evaluatorId = Interner.intern(evaluatorId);
         this.problemClarity = p;
         this.methodology = m;
         this.results = r;
@@ -24,7 +26,15 @@ public class Evaluation implements Serializable {
     public int getTotal() { return problemClarity + methodology + results + presentation; }
     
     public String getEvaluatorId() { return evaluatorId; }
-    public String getComments() { return comments; }
+    public String getComments() { return commentsRef != null ? commentsRef.load() : comments; }
+    public TextRef getCommentsRef() { return commentsRef; }
+
+    // Same scores, with the comments kept in the text store instead of in memory
+    public Evaluation withCommentsRef(TextRef ref) {
+        Evaluation e = new Evaluation(evaluatorId, problemClarity, methodology, results, presentation, null);
+        e.commentsRef = ref;
+        return e;
+    }
 
     //  GETTERS 
     public int getScore1() { return problemClarity; }
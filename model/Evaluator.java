@@ -1,5 +1,6 @@
 // Evaluator Class
 
 public class Evaluator extends User {
+    private static final long serialVersionUID = -7683895316096108167L; // Matches data files written before it was declared
     public Evaluator(String id, String username, String password) { super(id, username, password); }
 }
@@ -0,0 +1,30 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// String Interning Pool
+// IDs, venues and supervisor names repeat across many objects (every evaluation carries
+// its evaluator's ID, every session its venue). Entities pass them through here when they
+// are created or loaded, so each distinct value is held once and equal values are usually
+// the same instance (String.equals then returns on the identity check).
+// The pool only grows with distinct values, which the data itself bounds.
+public final class Interner {
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private Interner() {}
+
+    public static String intern(String s) {
+        if (s == null) return null;
+        String pooled = POOL.putIfAbsent(s, s);
+        return pooled == null ? s : pooled;
+    }
+
+    // Fresh list of pooled IDs
+    public static List<String> internAll(List<String> ids) {
+        List<String> result = new ArrayList<>(ids.size());
+        for (String id : ids) result.add(intern(id));
+        return result;
+    }
+
+    public static int size() { return POOL.size(); }
+}
@@ -1,60 +1,152 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 // Presentation Class
 public class Presentation implements Serializable {
+    private static final long serialVersionUID = 2884546879495935117L; // Matches data files written before it was declared
     private String studentId;
     private String studentName;
     private String title;
-    private String abstractText;
+    private String abstractText;    // Null once moved to the text store (see abstractRef)
     private String supervisor;
-    private String type;            // "Oral" or "Poster"
+    private String type;            // "Oral" or "Poster" (the PresentationType label)
     private String filePath;        // Path to uploaded file
-    private String boardId;         // Assigned Evaluation Board ID
-    private int audienceVotes;      // People's Choice Votes
+    private volatile String boardId;   // Assigned Evaluation Board ID
+    private volatile int audienceVotes; // People's Choice Votes
+    private volatile List<String> reviewerIds = new ArrayList<>(); // Evaluators picked for this presentation (empty = whole session)
     
     // List of Evaluations received from different Evaluators
-    private List<Evaluation> evaluations;
+    // Copy-on-write: an unmodifiable list replaced on every change, so readers (and
+    // snapshot copies) hold a stable list without locking or copying
+    private volatile List<Evaluation> evaluations;
+    
+    // Running totals of the evaluations above, updated in O(1) on every change
+    private transient volatile ScoreAggregate scores = ScoreAggregate.EMPTY;
+
+    // Set on copies held by a SeminarSnapshot; those must never change
+    private transient boolean frozen;
+
+    // Where the abstract lives when it is not held in memory
+    private transient TextRef abstractRef;
+
+    private transient PresentationType presentationType; // Parsed from type (null if it is neither)
 
     public Presentation(String sId, String sName, String title, String abs, String sup, String type, String path) {
-        this.studentId = sId;
+        this.studentId = Interner.intern(sId);
         this.studentName = sName;
         this.title = title;
         this.abstractText = abs;
-        this.supervisor = sup;
-        this.type = type;
+        this.supervisor = Interner.intern(sup);
+        setType(type);
         this.filePath = path;
-        this.evaluations = new ArrayList<>();
+        this.evaluations = Collections.emptyList();
         this.audienceVotes = 0;
     }
 
+    // Point-in-time copy that rejects every change. O(1): every list it shares is replaced
+    // wholesale on change, never modified in place
+    public synchronized Presentation frozenCopy() {
+        return new Presentation(this);
+    }
+
+    private Presentation(Presentation from) {
+        this.studentId = from.studentId;
+        this.studentName = from.studentName;
+        this.title = from.title;
+        this.abstractText = from.abstractText;
+        this.abstractRef = from.abstractRef;
+        this.supervisor = from.supervisor;
+        this.type = from.type;
+        this.presentationType = from.presentationType;
+        this.filePath = from.filePath;
+        this.boardId = from.boardId;
+        this.audienceVotes = from.audienceVotes;
+        this.reviewerIds = from.reviewerIds;
+        this.evaluations = from.evaluations;
+        this.scores = from.scores;
+        this.frozen = true;
+    }
+
+    // Known types share the enum's label instance
+    private void setType(String type) {
+        this.presentationType = PresentationType.fromLabel(type);
+        this.type = presentationType != null ? presentationType.getLabel() : type;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) throw new UnsupportedOperationException("Snapshot copies are read-only; change " + studentId + " through SeminarManager");
+    }
+
     // Management Methods
-    public void addEvaluation(Evaluation e) { evaluations.add(e); }
+    // Adds an evaluation, replacing any earlier one by the same evaluator (returns the replaced one)
+    public synchronized Evaluation addEvaluation(Evaluation e) {
+        checkNotFrozen();
+        List<Evaluation> current = evaluations;
+        int n = current.size();
+        int at = 0;
+        while (at < n && !current.get(at).getEvaluatorId().equals(e.getEvaluatorId())) at++;
+        Evaluation replaced = at < n ? current.get(at) : null;
+        Evaluation[] next = current.toArray(new Evaluation[at < n ? n : n + 1]);
+        next[at] = e;
+        evaluations = Collections.unmodifiableList(Arrays.asList(next));
+        scores = replaced == null ? scores.plus(e) : scores.minus(replaced).plus(e);
+        return replaced;
+    }
+    // Read-only; safe to iterate while evaluators are submitting
     public List<Evaluation> getEvaluations() { return evaluations; }
+    // Cached count / sums / averages (no need to walk the evaluations)
+    public ScoreAggregate getScores() { return scores; }
     
     // Getters and Setters
     public String getStudentId() { return studentId; }
     public String getTitle() { return title; }
     public String getType() { return type; }
+    public PresentationType getPresentationType() { return presentationType; }
     public String getStudentName() { return studentName; }
     
     // Getter for Evaluation Details
-    public String getAbstractText() { return abstractText; }
+    public String getAbstractText() {
+        TextRef ref = abstractRef;
+        return ref != null ? ref.load() : abstractText;
+    }
+    public TextRef getAbstractRef() { return abstractRef; }
+    // Drops the in-memory abstract in favour of a stored copy (before the presentation is shared)
+    public void setAbstractRef(TextRef ref) { checkNotFrozen(); this.abstractRef = ref; this.abstractText = null; }
     public String getSupervisor() { return supervisor; }
     public String getFilePath() { return filePath; }
 
     // Poster Management 
-    public void setBoardId(String id) { this.boardId = id; }
+    public void setBoardId(String id) { checkNotFrozen(); this.boardId = id; }
     public String getBoardId() { return boardId; }
     // Awards Management
-    public void setAudienceVotes(int votes) { this.audienceVotes = votes; }
+    public void setAudienceVotes(int votes) { checkNotFrozen(); this.audienceVotes = votes; }
     public int getAudienceVotes() { return audienceVotes; }
+    // Reviewer Management (replaced wholesale, like session assignments)
+    public void setReviewerIds(List<String> ids) { checkNotFrozen(); this.reviewerIds = Interner.internAll(ids); }
+    public List<String> getReviewerIds() { return Collections.unmodifiableList(reviewerIds); }
     // Grade Check
     public boolean isGradedBy(String evalId) {
         return evaluations.stream().anyMatch(e -> e.getEvaluatorId().equals(evalId));
     }
     
+    // Older data files hold a plain ArrayList (and no reviewers)
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        studentId = Interner.intern(studentId);
+        supervisor = Interner.intern(supervisor);
+        setType(type);
+        evaluations = Collections.unmodifiableList(new ArrayList<>(evaluations));
+        if (reviewerIds == null) reviewerIds = new ArrayList<>();
+        ScoreAggregate agg = ScoreAggregate.EMPTY;
+        for (Evaluation e : evaluations) agg = agg.plus(e);
+        scores = agg;
+    }
+    
     @Override
     public String toString() { return title + " (" + studentName + ")"; }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+// Presentation Type Enum
+// A presentation is either Oral or Poster; a session takes presentations of its own type.
+// The label is what the forms, files and reports show.
+public enum PresentationType {
+    ORAL("Oral"),
+    POSTER("Poster");
+
+    private final String label;
+
+    PresentationType(String label) { this.label = label; }
+
+    public String getLabel() { return label; }
+
+    // "oral", "Poster", ... -> the matching type (case-insensitive), or null if it is neither
+    public static PresentationType fromLabel(String label) {
+        if (label == null) return null;
+        for (PresentationType t : values()) if (t.label.equalsIgnoreCase(label.trim())) return t;
+        return null;
+    }
+
+    @Override
+    public String toString() { return label; }
+}
@@ -0,0 +1,46 @@
+// Score Aggregate Class
+// Running totals of a presentation's evaluations (count, overall sum and per-criterion sums).
+// Immutable: every change produces a new instance in O(1), so readers never see a half-applied update.
+public final class ScoreAggregate {
+    public static final ScoreAggregate EMPTY = new ScoreAggregate(0, 0, 0, 0, 0);
+
+    private final int count;
+    private final int clarity, methodology, results, presentation; // Per-criterion sums
+
+    private ScoreAggregate(int count, int clarity, int methodology, int results, int presentation) {
+        this.count = count;
+        this.clarity = clarity;
+        this.methodology = methodology;
+        this.results = results;
+        this.presentation = presentation;
+    }
+
+    public ScoreAggregate plus(Evaluation e) {
+        return new ScoreAggregate(count + 1, clarity + e.getScore1(), methodology + e.getScore2(),
+                                  results + e.getScore3(), presentation + e.getScore4());
+    }
+
+    public ScoreAggregate minus(Evaluation e) {
+        return new ScoreAggregate(count - 1, clarity - e.getScore1(), methodology - e.getScore2(),
+                                  results - e.getScore3(), presentation - e.getScore4());
+    }
+
+    // Getters
+    public int getCount() { return count; }
+    public int getTotalSum() { return clarity + methodology + results + presentation; }
+
+    // Average total score out of 20 (0 if not evaluated yet)
+    public double getAverage() { return count == 0 ? 0.0 : (double) getTotalSum() / count; }
+
+    // Average of one criterion out of 5 (1 = Clarity, 2 = Method, 3 = Results, 4 = Presentation)
+    public double getCriterionAverage(int criterion) {
+        if (count == 0) return 0.0;
+        switch (criterion) {
+            case 1: return (double) clarity / count;
+            case 2: return (double) methodology / count;
+            case 3: return (double) results / count;
+            case 4: return (double) presentation / count;
+            default: throw new IllegalArgumentException("Unknown criterion " + criterion);
+        }
+    }
+}
@@ -1,26 +1,92 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 // Seminar Session Class
 public class SeminarSession implements Serializable {
+    private static final long serialVersionUID = 1299139095785687816L; // Matches data files written before it was declared
     private String sessionId;      // Unique ID
     private String date;           // Format: DD/MM/YYYY
     private String time;           // Format: HH:MM - HH:MM
     private String venue;          // Venue Name
-    private String type;           // "Oral" or "Poster"
+    private String type;           // "Oral" or "Poster" (the PresentationType label)
+    private transient PresentationType presentationType; // Parsed from type (null if it is neither)
+
+    // Parsed from date and time (minutes since 1970, local time), or -1 if the text doesn't parse
+    private transient long startMinute;
+    private transient long endMinute;
+
+    private transient boolean frozen; // Set on copies held by a SeminarSnapshot
     
-    private List<String> assignedEvaluatorIds;
-    private List<String> assignedStudentIds;
+    // Replaced wholesale on reassignment, so readers always see a complete list
+    private volatile List<String> assignedEvaluatorIds;
+    private volatile List<String> assignedStudentIds;
 
     public SeminarSession(String id, String date, String time, String venue, String type) { 
-        this.sessionId = id;
+        this.sessionId = Interner.intern(id);
         this.date = date;
         this.time = time; 
-        this.venue = venue;
-        this.type = type;
+        this.venue = Interner.intern(venue);
+        setType(type);
         this.assignedEvaluatorIds = new ArrayList<>();
         this.assignedStudentIds = new ArrayList<>();
+        parseTimes();
+    }
+
+    // --- Time Parsing ---
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final Pattern TIME_RANGE = Pattern.compile("\\s*(\\d{1,2}):(\\d{2})\\s*[-\u2013]\\s*(\\d{1,2}):(\\d{2})\\s*");
+
+    // Chronological; sessions whose time doesn't parse come last, in text order
+    public static final Comparator<SeminarSession> CHRONOLOGICAL = Comparator
+        .comparingLong((SeminarSession s) -> s.isTimed() ? s.startMinute : Long.MAX_VALUE)
+        .thenComparingLong(s -> s.endMinute)
+        .thenComparing(s -> s.date)
+        .thenComparing(s -> s.time)
+        .thenComparing(s -> s.venue)
+        .thenComparing(s -> s.sessionId);
+
+    // "20/04/2026" + "14:00 - 16:30" -> {start, end} in minutes since 1970, or null
+    public static long[] parseRange(String date, String time) {
+        if (date == null || time == null) return null;
+        try {
+            Matcher m = TIME_RANGE.matcher(time);
+            if (!m.matches()) return null;
+            long day = LocalDate.parse(date.trim(), DATE_FORMAT).toEpochDay() * 24 * 60;
+            long from = LocalTime.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))).toSecondOfDay() / 60;
+            long to = LocalTime.of(Integer.parseInt(m.group(3)), Integer.parseInt(m.group(4))).toSecondOfDay() / 60;
+            return to > from ? new long[]{day + from, day + to} : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void parseTimes() {
+        long[] range = parseRange(date, time);
+        startMinute = range == null ? -1 : range[0];
+        endMinute = range == null ? -1 : range[1];
+    }
+
+    // Known types share the enum's label instance
+    private void setType(String type) {
+        this.presentationType = PresentationType.fromLabel(type);
+        this.type = presentationType != null ? presentationType.getLabel() : type;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        venue = Interner.intern(venue);
+        setType(type);
+        parseTimes();
     }
 
     // Getters
@@ -29,11 +95,52 @@ public class SeminarSession implements Serializable {
     public String getTime() { return time; } 
     public String getVenue() { return venue; }
     public String getType() { return type; }
+    public PresentationType getPresentationType() { return presentationType; }
+
+    // Only presentations of the session's own type may be assigned to it
+    public boolean accepts(Presentation p) {
+        return presentationType != null && p.getPresentationType() == presentationType;
+    }
+
+    public boolean isTimed() { return startMinute >= 0; }
+    public long getStartMinute() { return startMinute; }
+    public long getEndMinute() { return endMinute; }
+
+    // Half-open ranges: a session ending at 12:00 doesn't clash with one starting at 12:00
+    public boolean overlaps(long start, long end) {
+        return isTimed() && startMinute < end && start < endMinute;
+    }
     
-    // Returns the lists of IDs so the CoordinatorView can modify them
-    public List<String> getEvaluatorIds() { return assignedEvaluatorIds; }
-    public List<String> getStudentIds() { return assignedStudentIds; }
+    // Read-only lists of assigned IDs (use setAssignments to change them)
+    public List<String> getEvaluatorIds() { return Collections.unmodifiableList(assignedEvaluatorIds); }
+    public List<String> getStudentIds() { return Collections.unmodifiableList(assignedStudentIds); }
     
+    public void setAssignments(List<String> evalIds, List<String> studIds) {
+        if (frozen) throw new UnsupportedOperationException("Snapshot copies are read-only; assign " + sessionId + " through SeminarManager");
+        this.assignedEvaluatorIds = Interner.internAll(evalIds);
+        this.assignedStudentIds = Interner.internAll(studIds);
+    }
+    
+    // Point-in-time copy that rejects every change. O(1): the fields are already interned and
+    // parsed, and the assignment lists are shared (replaced wholesale, never changed in place)
+    public SeminarSession frozenCopy() {
+        return new SeminarSession(this);
+    }
+
+    private SeminarSession(SeminarSession from) {
+        this.sessionId = from.sessionId;
+        this.date = from.date;
+        this.time = from.time;
+        this.venue = from.venue;
+        this.type = from.type;
+        this.presentationType = from.presentationType;
+        this.startMinute = from.startMinute;
+        this.endMinute = from.endMinute;
+        this.assignedEvaluatorIds = from.assignedEvaluatorIds;
+        this.assignedStudentIds = from.assignedStudentIds;
+        this.frozen = true;
+    }
+
     @Override
     public String toString() { return date + " (" + time + ") - " + venue + " [" + type + "]"; } // <--- UPDATE TOSTRING
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 // Student Class
 
 public class Student extends User {
+    private static final long serialVersionUID = -2742551527575139269L; // Matches data files written before it was declared
     public Student(String id, String username, String password) { super(id, username, password); }
 }
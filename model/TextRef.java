@@ -0,0 +1,6 @@
+// Text Reference Interface
+// Long text (abstracts, comments) kept outside the heap; see TextStore.
+// load() reads it back, from a small cache or from disk.
+public interface TextRef {
+    String load();
+}
@@ -2,12 +2,13 @@ import java.io.Serializable;
 
 // Abstract User Class
 public abstract class User implements Serializable {
+    private static final long serialVersionUID = -8151027170444176366L; // Matches data files written before it was declared
     private String id;          // Unique ID
     private String username;    // Username
     private String password;    // Simple placeholder
 
     public User(String id, String username, String password) {
-        this.id = id;
+        this.id = Interner.intern(id);
         this.username = username;
         this.password = password;
     }
@@ -0,0 +1,351 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Seminar Analytics
+// Score statistics over every current evaluation, read from the columnar score store:
+//   - per criterion: mean, standard deviation and a 1-5 histogram (plus the total-score spread),
+//   - per session and per evaluator: evaluations, mean total and its standard deviation,
+//   - per presentation: inter-rater agreement as r_wg(J) over the four criteria
+//     (1 = every evaluator gave the same scores, 0 = no more agreement than random scoring).
+//
+// Three passes, each split over the common fork-join pool: one over all rows for the
+// criterion figures and evaluator totals, one over presentations (rows grouped by a
+// counting sort first, so each task owns its own slice of the output arrays), and the
+// cheap session roll-up on top of the per-presentation sums.
+public class AnalyticsEngine {
+    private static final int MIN_LEAF_ROWS = 4096;
+    private static final int MIN_LEAF_PRESENTATIONS = 512;
+    private static final int MAX_SCORE = 5;                        // Rubric range is 1-5
+    private static final double UNIFORM_VARIANCE = (MAX_SCORE * MAX_SCORE - 1) / 12.0; // Variance of random 1-5 scoring
+    private static final double LOW_AGREEMENT = 0.7;
+    private static final String[] CRITERIA = {"Problem Clarity", "Methodology", "Results", "Presentation"};
+
+    private final SeminarManager manager;
+
+    public AnalyticsEngine(SeminarManager manager) {
+        this.manager = manager;
+    }
+
+    public Report compute() {
+        long t0 = System.nanoTime();
+        SeminarSnapshot snap = manager.snapshot();
+        ScoreColumns.View cols = manager.getScoreColumns();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int leaf = Math.max(MIN_LEAF_ROWS, cols.size() / (pool.getParallelism() * 4) + 1);
+
+        Report r = new Report(cols);
+        Tally t = pool.invoke(new RowScan(cols, 0, cols.size(), leaf));
+        r.tally = t;
+
+        // Group row numbers by presentation (counting sort), then one task per slice of presentations
+        int presentations = cols.presentationCount();
+        int[] start = new int[presentations + 1];
+        for (int row = 0; row < cols.size(); row++) start[cols.presentation(row) + 1]++;
+        for (int p = 0; p < presentations; p++) start[p + 1] += start[p];
+        int[] rows = new int[cols.size()];
+        int[] fill = start.clone();
+        for (int row = 0; row < cols.size(); row++) rows[fill[cols.presentation(row)]++] = row;
+        int presLeaf = Math.max(MIN_LEAF_PRESENTATIONS, presentations / (pool.getParallelism() * 4) + 1);
+        pool.invoke(new PresentationScan(r, cols, start, rows, 0, presentations, presLeaf));
+
+        r.sessions = sessionBreakdown(snap, cols, r);
+        r.elapsedNanos = System.nanoTime() - t0;
+        manager.getMetrics().timer("analytics").record(t0);
+        return r;
+    }
+
+    // --- Pass 1: criteria and evaluators ---
+    private static class Tally {
+        final long[] sum = new long[ScoreColumns.CRITERIA];
+        final long[] sumSq = new long[ScoreColumns.CRITERIA];
+        final long[][] histogram = new long[ScoreColumns.CRITERIA][MAX_SCORE + 1]; // Index = score (0 = out of range)
+        final long[] totals = new long[ScoreColumns.CRITERIA * MAX_SCORE + 1];     // Index = total score
+        final int[] evaluatorCount;
+        final long[] evaluatorSum, evaluatorSumSq;
+        long rows;
+
+        Tally(int evaluators) {
+            evaluatorCount = new int[evaluators];
+            evaluatorSum = new long[evaluators];
+            evaluatorSumSq = new long[evaluators];
+        }
+
+        void add(Tally o) {
+            rows += o.rows;
+            for (int c = 0; c < ScoreColumns.CRITERIA; c++) {
+                sum[c] += o.sum[c];
+                sumSq[c] += o.sumSq[c];
+                for (int s = 0; s <= MAX_SCORE; s++) histogram[c][s] += o.histogram[c][s];
+            }
+            for (int i = 0; i < totals.length; i++) totals[i] += o.totals[i];
+            for (int e = 0; e < evaluatorCount.length; e++) {
+                evaluatorCount[e] += o.evaluatorCount[e];
+                evaluatorSum[e] += o.evaluatorSum[e];
+                evaluatorSumSq[e] += o.evaluatorSumSq[e];
+            }
+        }
+    }
+
+    private static class RowScan extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L; // Never serialized (ForkJoinTask is Serializable)
+        private final ScoreColumns.View cols;
+        private final int from, to, leaf;
+
+        RowScan(ScoreColumns.View cols, int from, int to, int leaf) {
+            this.cols = cols;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= leaf) {
+                Tally t = new Tally(cols.evaluatorCount());
+                for (int row = from; row < to; row++) {
+                    int total = 0;
+                    for (int c = 0; c < ScoreColumns.CRITERIA; c++) {
+                        int s = cols.score(row, c);
+                        t.sum[c] += s;
+                        t.sumSq[c] += s * s;
+                        t.histogram[c][s >= 1 && s <= MAX_SCORE ? s : 0]++;
+                        total += s;
+                    }
+                    if (total >= 0 && total < t.totals.length) t.totals[total]++;
+                    int e = cols.evaluator(row);
+                    t.evaluatorCount[e]++;
+                    t.evaluatorSum[e] += total;
+                    t.evaluatorSumSq[e] += total * total;
+                }
+                t.rows = to - from;
+                return t;
+            }
+            int mid = (from + to) >>> 1;
+            RowScan left = new RowScan(cols, from, mid, leaf);
+            left.fork();
+            Tally right = new RowScan(cols, mid, to, leaf).compute();
+            Tally result = left.join();
+            result.add(right);
+            return result;
+        }
+    }
+
+    // --- Pass 2: presentations (each task writes only its own range) ---
+    private static class PresentationScan extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // Never serialized (ForkJoinTask is Serializable)
+        private final Report r;
+        private final ScoreColumns.View cols;
+        private final int[] start, rows;
+        private final int from, to, leaf;
+
+        PresentationScan(Report r, ScoreColumns.View cols, int[] start, int[] rows, int from, int to, int leaf) {
+            this.r = r;
+            this.cols = cols;
+            this.start = start;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leaf) {
+                long[] critSum = new long[ScoreColumns.CRITERIA], critSumSq = new long[ScoreColumns.CRITERIA];
+                for (int p = from; p < to; p++) {
+                    int k = start[p + 1] - start[p];
+                    long sum = 0, sumSq = 0;
+                    Arrays.fill(critSum, 0);
+                    Arrays.fill(critSumSq, 0);
+                    for (int i = start[p]; i < start[p + 1]; i++) {
+                        int row = rows[i];
+                        int total = cols.total(row);
+                        sum += total;
+                        sumSq += (long) total * total;
+                        for (int c = 0; c < ScoreColumns.CRITERIA; c++) {
+                            int s = cols.score(row, c);
+                            critSum[c] += s;
+                            critSumSq[c] += s * s;
+                        }
+                    }
+                    r.presentationCount[p] = k;
+                    r.presentationSum[p] = sum;
+                    r.presentationSumSq[p] = sumSq;
+                    r.agreement[p] = k < 2 ? Double.NaN : agreement(k, critSum, critSumSq);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PresentationScan(r, cols, start, rows, from, mid, leaf),
+                      new PresentationScan(r, cols, start, rows, mid, to, leaf));
+        }
+    }
+
+    // r_wg(J): 1 minus the raters' mean criterion variance relative to random scoring,
+    // stepped up for J = 4 criteria (observed variance above random counts as no agreement)
+    static double agreement(int raters, long[] sum, long[] sumSq) {
+        double variance = 0;
+        for (int c = 0; c < sum.length; c++) {
+            variance += (sumSq[c] - (double) sum[c] * sum[c] / raters) / (raters - 1);
+        }
+        double ratio = Math.min(1.0, variance / sum.length / UNIFORM_VARIANCE);
+        double j = sum.length;
+        return j * (1 - ratio) / (j * (1 - ratio) + ratio);
+    }
+
+    // --- Pass 3: sessions ---
+    private static List<SessionStats> sessionBreakdown(SeminarSnapshot snap, ScoreColumns.View cols, Report r) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int p = 0; p < cols.presentationCount(); p++) ordinals.put(cols.presentationId(p), p);
+        List<SessionStats> result = new ArrayList<>();
+        for (SeminarSession s : snap.getSessionsInOrder()) {
+            SessionStats st = new SessionStats(s);
+            for (String studentId : s.getStudentIds()) {
+                st.presenters++;
+                Integer p = ordinals.get(studentId);
+                if (p == null || r.presentationCount[p] == 0) continue;
+                st.evaluated++;
+                st.evaluations += r.presentationCount[p];
+                st.sum += r.presentationSum[p];
+                st.sumSq += r.presentationSumSq[p];
+            }
+            result.add(st);
+        }
+        return result;
+    }
+
+    public static class SessionStats {
+        private final SeminarSession session;
+        private int presenters, evaluated;
+        private long evaluations, sum, sumSq;
+
+        SessionStats(SeminarSession session) { this.session = session; }
+
+        public SeminarSession getSession() { return session; }
+        public int getPresenters() { return presenters; }
+        public int getEvaluatedPresenters() { return evaluated; }
+        public long getEvaluations() { return evaluations; }
+        public double getMean() { return mean(evaluations, sum); }
+        public double getStdDev() { return stdDev(evaluations, sum, sumSq); }
+    }
+
+    // --- Result ---
+    public static class Report {
+        private final ScoreColumns.View cols;
+        private Tally tally;
+        private final int[] presentationCount;
+        private final long[] presentationSum, presentationSumSq;
+        private final double[] agreement; // NaN = fewer than two evaluations
+        private List<SessionStats> sessions;
+        private long elapsedNanos;
+
+        Report(ScoreColumns.View cols) {
+            this.cols = cols;
+            int n = cols.presentationCount();
+            presentationCount = new int[n];
+            presentationSum = new long[n];
+            presentationSumSq = new long[n];
+            agreement = new double[n];
+        }
+
+        public long getEvaluations() { return tally.rows; }
+
+        // Criterion 0-3: clarity, methodology, results, presentation
+        public double getCriterionMean(int c) { return mean(tally.rows, tally.sum[c]); }
+        public double getCriterionStdDev(int c) { return stdDev(tally.rows, tally.sum[c], tally.sumSq[c]); }
+        public long getCriterionCount(int c, int score) { return score >= 1 && score <= MAX_SCORE ? tally.histogram[c][score] : 0; }
+
+        public List<SessionStats> getSessions() { return sessions; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            long n = tally.rows;
+            int rated = 0, multiRated = 0, low = 0;
+            double agreementSum = 0;
+            List<Integer> lowest = new ArrayList<>();
+            for (int p = 0; p < presentationCount.length; p++) {
+                if (presentationCount[p] > 0) rated++;
+                if (Double.isNaN(agreement[p])) continue;
+                multiRated++;
+                agreementSum += agreement[p];
+                if (agreement[p] < LOW_AGREEMENT) {
+                    low++;
+                    lowest.add(p);
+                }
+            }
+            lowest.sort((a, b) -> Double.compare(agreement[a], agreement[b]));
+            int evaluators = 0;
+            for (int c : tally.evaluatorCount) if (c > 0) evaluators++;
+
+            sb.append(n).append(" evaluation(s) of ").append(rated).append(" presentation(s) by ")
+              .append(evaluators).append(" evaluator(s), computed in ")
+              .append(String.format("%.1f", elapsedNanos / 1e6)).append(" ms\n\n");
+
+            sb.append("CRITERIA                 mean    sd      1      2      3      4      5\n");
+            for (int c = 0; c < ScoreColumns.CRITERIA; c++) {
+                sb.append(String.format("  %-20s %5.2f %5.2f", CRITERIA[c], getCriterionMean(c), getCriterionStdDev(c)));
+                for (int s = 1; s <= MAX_SCORE; s++) sb.append(String.format(" %5.1f%%", percent(tally.histogram[c][s], n)));
+                sb.append("\n");
+            }
+            sb.append("\nTOTAL SCORE (4-20)\n");
+            long peak = 1;
+            for (long t : tally.totals) peak = Math.max(peak, t);
+            for (int t = ScoreColumns.CRITERIA; t < tally.totals.length; t++) {
+                sb.append(String.format("  %2d %6d ", t, tally.totals[t])).append(bar(tally.totals[t], peak)).append("\n");
+            }
+
+            sb.append("\nINTER-RATER AGREEMENT (r_wg over 4 criteria; presentations with 2+ evaluations)\n");
+            if (multiRated == 0) {
+                sb.append("  No presentation has two evaluations yet.\n");
+            } else {
+                sb.append(String.format("  Mean %.2f over %d presentation(s); %d below %.1f%n", agreementSum / multiRated, multiRated, low, LOW_AGREEMENT));
+                for (int p : lowest.subList(0, Math.min(10, lowest.size()))) {
+                    sb.append(String.format("  %-12s %.2f  (%d evaluations)%n", cols.presentationId(p), agreement[p], presentationCount[p]));
+                }
+            }
+
+            sb.append(String.format("%nSESSIONS%47s %10s %7s %6s %5s%n", "presenters", "evaluated", "evals", "mean", "sd"));
+            if (sessions.isEmpty()) sb.append("  No sessions.\n");
+            for (SessionStats s : sessions) {
+                sb.append(String.format("  %-10s %-38s %3d %10d %7d %6.2f %5.2f%n", s.session.getSessionId(),
+                    abbreviate(s.session.toString(), 38), s.presenters, s.evaluated, s.evaluations, s.getMean(), s.getStdDev()));
+            }
+
+            sb.append("\nEVALUATORS        evals   mean    sd\n");
+            for (int e = 0; e < tally.evaluatorCount.length; e++) {
+                int k = tally.evaluatorCount[e];
+                if (k == 0) continue;
+                sb.append(String.format("  %-12s %7d %6.2f %5.2f%n", cols.evaluatorId(e), k,
+                    mean(k, tally.evaluatorSum[e]), stdDev(k, tally.evaluatorSum[e], tally.evaluatorSumSq[e])));
+            }
+            return sb.toString();
+        }
+    }
+
+    // --- Helpers ---
+    private static double mean(long n, long sum) { return n == 0 ? 0 : (double) sum / n; }
+
+    // Sample standard deviation from running sums (0 below two values)
+    private static double stdDev(long n, long sum, long sumSq) {
+        if (n < 2) return 0;
+        double var = (sumSq - (double) sum * sum / n) / (n - 1);
+        return Math.sqrt(Math.max(0, var));
+    }
+
+    private static double percent(long part, long whole) { return whole == 0 ? 0 : 100.0 * part / whole; }
+
+    private static String bar(long value, long peak) {
+        StringBuilder sb = new StringBuilder();
+        for (long i = 0, len = value * 40 / peak; i < len; i++) sb.append('#');
+        return sb.toString();
+    }
+
+    private static String abbreviate(String s, int max) { return s.length() <= max ? s : s.substring(0, max - 3) + "..."; }
+}
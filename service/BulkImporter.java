@@ -0,0 +1,398 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.PushbackReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk Import of Users, Presentations and Session Assignments
+// Reads CSV (header row first) or JSON (an array of flat objects, or one object per line)
+// one record at a time, so a large file is never held in memory as text.
+// Every row is checked against the manager's indexes and against earlier rows of the
+// same file. Bad rows are reported and skipped; the good ones become Changes that
+// SeminarManager applies and journals as one batch (see SeminarManager.importData).
+//
+// Columns (header names are case-insensitive; spaces, '_' and '-' are ignored):
+//   USERS:         id, name, role (Student/Evaluator), password (optional, default "pass")
+//   PRESENTATIONS: studentId, title, abstract (optional), supervisor, type (Oral/Poster), filePath (optional)
+//                  (a student who already has a presentation is rejected, since registering again
+//                  discards its evaluations and votes; setReplaceExisting(true) allows it)
+//   ASSIGNMENTS:   sessionId, evaluatorIds, studentIds (lists separated by ';', or JSON arrays)
+public class BulkImporter {
+    public enum Kind { USERS, PRESENTATIONS, ASSIGNMENTS }
+
+    private static final int MAX_LISTED_ERRORS = 50; // Report.toString() lists at most this many
+
+    // --- Import Result ---
+    public static class Report {
+        private final Kind kind;
+        private int imported;
+        private final List<String> errors = new ArrayList<>();
+
+        Report(Kind kind) { this.kind = kind; }
+
+        public Kind getKind() { return kind; }
+        public int getImported() { return imported; }
+        public List<String> getErrors() { return errors; }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Imported ").append(imported).append(" ").append(kind.name().toLowerCase(Locale.ROOT))
+              .append(" record(s), rejected ").append(errors.size()).append(".\n");
+            for (int i = 0; i < errors.size() && i < MAX_LISTED_ERRORS; i++) sb.append(errors.get(i)).append("\n");
+            if (errors.size() > MAX_LISTED_ERRORS) sb.append("... and ").append(errors.size() - MAX_LISTED_ERRORS).append(" more\n");
+            return sb.toString();
+        }
+    }
+
+    private final SeminarManager manager;
+    private final Kind kind;
+    private final Report report;
+    private boolean replaceExisting; // PRESENTATIONS: re-register students who already have one
+
+    // Keys of rows already accepted from this file (duplicates within one batch are errors too)
+    private final Set<String> seenKeys = new HashSet<>();
+    // Evaluator ID -> timed sessions the accepted assignment rows put them in
+    private final IntervalIndex fileBookings = new IntervalIndex();
+
+    public BulkImporter(SeminarManager manager, Kind kind) {
+        this.manager = manager;
+        this.kind = kind;
+        this.report = new Report(kind);
+    }
+
+    public Report getReport() { return report; }
+
+    public void setReplaceExisting(boolean replaceExisting) { this.replaceExisting = replaceExisting; }
+
+    // Parses and validates the whole input. The caller must hold the manager's
+    // structure lock so the indexes can't change between validation and apply.
+    public List<Change> read(Reader in) throws IOException {
+        List<Change> changes = new ArrayList<>();
+        RowReader rows = open(new PushbackReader(new BufferedReader(in, 1 << 16), 1));
+        while (true) {
+            try {
+                Map<String, String> row = rows.next(); // May reject a row it could still read past
+                if (row == null) break;
+                Change c = toChange(row);
+                seenKeys.add(seenKey(c.getKey()));
+                changes.add(c);
+                report.imported++;
+            } catch (IllegalArgumentException e) {
+                report.errors.add("Line " + rows.line() + ": " + e.getMessage());
+            }
+        }
+        return changes;
+    }
+
+    // --- Row Validation ---
+    private Change toChange(Map<String, String> row) {
+        switch (kind) {
+            case USERS: return toUser(row);
+            case PRESENTATIONS: return toPresentation(row);
+            default: return toAssignment(row);
+        }
+    }
+
+    private Change toUser(Map<String, String> row) {
+        String id = required(row, "id");
+        String name = required(row, "name");
+        String role = required(row, "role");
+        String password = optional(row, "password", "pass");
+        if (manager.getUser(id) != null) throw new IllegalArgumentException("User ID " + id + " already exists");
+        firstInFile(id, "User ID " + id);
+
+        User u;
+        if (role.equalsIgnoreCase("Student")) u = new Student(id, name, password);
+        else if (role.equalsIgnoreCase("Evaluator")) u = new Evaluator(id, name, password);
+        else throw new IllegalArgumentException("Unknown role '" + role + "' (expected Student or Evaluator)");
+        return Change.addUser(u);
+    }
+
+    private Change toPresentation(Map<String, String> row) {
+        String studentId = required(row, "studentid");
+        String title = required(row, "title");
+        String supervisor = required(row, "supervisor");
+        String type = required(row, "type");
+        User student = manager.getUser(studentId);
+        if (!(student instanceof Student)) throw new IllegalArgumentException("No student with ID " + studentId);
+        firstInFile(student.getId(), "Student " + studentId);
+        if (!replaceExisting && manager.getPresentationByStudent(student.getId()) != null) {
+            throw new IllegalArgumentException("Student " + studentId + " already has a presentation (replacing it would discard its evaluations and votes)");
+        }
+
+        PresentationType kind = PresentationType.fromLabel(type);
+        if (kind == null) throw new IllegalArgumentException("Unknown presentation type '" + type + "' (expected Oral or Poster)");
+
+        // Same fields the Student registration form fills in
+        return Change.registerPresentation(new Presentation(student.getId(), student.getUsername(), title,
+            optional(row, "abstract", ""), supervisor, kind.getLabel(), optional(row, "filepath", "")));
+    }
+
+    private Change toAssignment(Map<String, String> row) {
+        String sessionId = required(row, "sessionid");
+        SeminarSession session = manager.getSession(sessionId);
+        if (session == null) throw new IllegalArgumentException("No session with ID " + sessionId);
+        firstInFile(sessionId, "Session " + sessionId);
+
+        Set<String> evalIds = new LinkedHashSet<>();
+        for (String id : splitList(optional(row, "evaluatorids", ""))) {
+            User u = manager.getUser(id);
+            if (!(u instanceof Evaluator)) throw new IllegalArgumentException("No evaluator with ID " + id);
+            for (SeminarSession other : manager.getEvaluatorBookings(u.getId(), session.getStartMinute(), session.getEndMinute())) {
+                if (other.getSessionId().equals(sessionId)) continue;
+                if (seenKeys.contains(other.getSessionId())) continue; // Reassigned earlier in this file; checked below instead
+                throw new IllegalArgumentException("Evaluator " + id + " is already in session " + other.getSessionId() + " at that time");
+            }
+            for (SeminarSession other : fileBookings.overlapping(u.getId(), session.getStartMinute(), session.getEndMinute())) {
+                if (other.getSessionId().equals(sessionId)) continue;
+                throw new IllegalArgumentException("Evaluator " + id + " is already put in session " + other.getSessionId() + " at that time earlier in this file");
+            }
+            evalIds.add(u.getId());
+        }
+        Set<String> studIds = new LinkedHashSet<>();
+        for (String id : splitList(optional(row, "studentids", ""))) {
+            Presentation p = manager.getPresentationByStudent(id);
+            if (p == null) throw new IllegalArgumentException("Student " + id + " has no registered presentation");
+            // Same rule as the assignment tab: only presentations of the session's type
+            if (!session.accepts(p)) {
+                throw new IllegalArgumentException("Student " + id + " is registered for " + p.getType() + ", not " + session.getType());
+            }
+            studIds.add(id);
+        }
+        for (String evalId : evalIds) fileBookings.add(evalId, session); // Row accepted: later rows are checked against it
+        return Change.assignToSession(sessionId, new ArrayList<>(evalIds), new ArrayList<>(studIds));
+    }
+
+    private void firstInFile(String key, String what) {
+        if (seenKeys.contains(seenKey(key))) throw new IllegalArgumentException(what + " appears more than once in this file");
+    }
+
+    private String seenKey(String key) {
+        return kind == Kind.USERS ? key.toLowerCase(Locale.ROOT) : key; // User IDs are unique regardless of case
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String v = row.get(column);
+        if (v == null || v.trim().isEmpty()) throw new IllegalArgumentException("Missing " + column);
+        return v.trim();
+    }
+
+    private static String optional(Map<String, String> row, String column, String fallback) {
+        String v = row.get(column);
+        return (v == null || v.trim().isEmpty()) ? fallback : v.trim();
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> ids = new ArrayList<>();
+        for (String s : value.split(";")) if (!s.trim().isEmpty()) ids.add(s.trim());
+        return ids;
+    }
+
+    private static String column(String header) {
+        return header.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // --- Format Detection ---
+    // JSON input starts with '[' or '{'; anything else is CSV
+    private RowReader open(PushbackReader in) throws IOException {
+        int c = in.read();
+        if (c == '\uFEFF') c = in.read(); // Byte order mark
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') c = in.read();
+        if (c != -1) in.unread(c);
+        return (c == '[' || c == '{') ? new JsonRows(in) : new CsvRows(in);
+    }
+
+    private interface RowReader {
+        Map<String, String> next() throws IOException; // null at end of input
+        int line();                                     // Line the last row started on
+    }
+
+    // --- CSV (RFC 4180: quoted fields may hold commas, quotes ("") and line breaks) ---
+    private static class CsvRows implements RowReader {
+        private final PushbackReader in;
+        private List<String> header;
+        private int lineNo = 1;
+        private int rowLine;
+
+        CsvRows(PushbackReader in) { this.in = in; }
+
+        public int line() { return rowLine; }
+
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = record();
+                if (names == null) return null;
+                header = new ArrayList<>();
+                for (String h : names) header.add(column(h));
+            }
+            List<String> fields;
+            do {
+                fields = record();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.get(0).trim().isEmpty()); // Blank line
+
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) row.put(header.get(i), fields.get(i));
+            return row;
+        }
+
+        private List<String> record() throws IOException {
+            int c = in.read();
+            if (c == -1) return null;
+            rowLine = lineNo;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) break;
+                    if (c == '"') {
+                        int n = in.read();
+                        if (n == '"') field.append('"');
+                        else { quoted = false; c = n; continue; }
+                    } else {
+                        if (c == '\n') lineNo++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') lineNo++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    // --- JSON (flat objects; values may be strings, numbers, booleans, null or arrays of these) ---
+    private static class JsonRows implements RowReader {
+        private final PushbackReader in;
+        private int lineNo = 1;
+        private int rowLine;
+        private String rowError; // Problem found in the current object; reported once the whole object is read
+
+        JsonRows(PushbackReader in) { this.in = in; }
+
+        public int line() { return rowLine; }
+
+        public Map<String, String> next() throws IOException {
+            int c = skipSpace();
+            // Between objects: array brackets and commas carry no data
+            while (c == '[' || c == ',' || c == ']') c = skipSpace();
+            if (c == -1) return null;
+            if (c != '{') throw new IOException("Line " + lineNo + ": expected '{' but found '" + (char) c + "'");
+            rowLine = lineNo;
+
+            Map<String, String> row = new LinkedHashMap<>();
+            c = skipSpace();
+            if (c == '}') return row;
+            while (true) {
+                if (c != '"') throw new IOException("Line " + lineNo + ": expected a field name");
+                String key = string();
+                if (skipSpace() != ':') throw new IOException("Line " + lineNo + ": expected ':' after \"" + key + "\"");
+                row.put(column(key), value(skipSpace()));
+                c = skipSpace();
+                if (c == '}') break;
+                if (c != ',') throw new IOException("Line " + lineNo + ": expected ',' or '}'");
+                c = skipSpace();
+            }
+            if (rowError != null) {
+                String error = rowError;
+                rowError = null;
+                throw new IllegalArgumentException(error); // Reading can go on with the next object
+            }
+            return row;
+        }
+
+        // Arrays become ';'-separated lists, matching the CSV list columns
+        private String value(int c) throws IOException {
+            if (c == '"') return string();
+            if (c == '[') {
+                StringBuilder sb = new StringBuilder();
+                c = skipSpace();
+                while (c != ']') {
+                    if (sb.length() > 0) sb.append(';');
+                    sb.append(value(c));
+                    c = skipSpace();
+                    if (c == ',') c = skipSpace();
+                    else if (c != ']') throw new IOException("Line " + lineNo + ": expected ',' or ']'");
+                }
+                return sb.toString();
+            }
+            StringBuilder sb = new StringBuilder();
+            while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                sb.append((char) c);
+                c = in.read();
+            }
+            if (c != -1) in.unread(c);
+            String literal = sb.toString();
+            if (literal.isEmpty()) throw new IOException("Line " + lineNo + ": expected a value");
+            return literal.equals("null") ? "" : literal;
+        }
+
+        private String string() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = in.read()) != '"') {
+                if (c == -1) throw new IOException("Line " + lineNo + ": unterminated string");
+                if (c == '\\') {
+                    c = in.read();
+                    switch (c) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u': {
+                            char[] hex = new char[4];
+                            int code = 0;
+                            for (int i = 0; i < 4; i++) {
+                                hex[i] = (char) in.read();
+                                int digit = Character.digit(hex[i], 16);
+                                code = (code < 0 || digit < 0) ? -1 : code * 16 + digit;
+                            }
+                            if (code >= 0) {
+                                sb.append((char) code);
+                            } else {
+                                if (rowError == null) rowError = "Invalid escape \\u" + new String(hex).trim();
+                                sb.append('\uFFFD'); // Keeps reading the row, which is then rejected
+                            }
+                            break;
+                        }
+                        default: sb.append((char) c); // \" \\ \/
+                    }
+                } else {
+                    if (c == '\n') lineNo++;
+                    sb.append((char) c);
+                }
+            }
+            return sb.toString();
+        }
+
+        private int skipSpace() throws IOException {
+            int c;
+            do {
+                c = in.read();
+                if (c == '\n') lineNo++;
+            } while (c == ' ' || c == '\t' || c == '\r' || c == '\n');
+            return c;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Journal Record Class
+// One mutation of the seminar data, appended to the ChangeJournal and replayed on load
+public class Change {
+    public enum Op {
+        ADD_USER, DELETE_USER,
+        REGISTER_PRESENTATION, ADD_EVALUATION, UPDATE_VOTES,
+        CREATE_SESSION, DELETE_SESSION, ASSIGN_SESSION,
+        ASSIGN_REVIEWERS // Added in format version 2 (new ops go last: records store the ordinal)
+    }
+
+    private long seq;                 // Position in the journal (assigned on commit)
+    private final Op op;
+    private final String key;         // User ID, Student ID or Session ID the change targets
+    private final Object payload;     // New User / Presentation / Evaluation / Session (if any)
+    private final int votes;
+    private final List<String> evaluatorIds;
+    private final List<String> studentIds;
+    private boolean override;         // Vote count set by hand (not journaled: only live state depends on it)
+
+    private Change(Op op, String key, Object payload, int votes, List<String> evalIds, List<String> studIds) {
+        this.op = op;
+        this.key = key;
+        this.payload = payload;
+        this.votes = votes;
+        this.evaluatorIds = evalIds;
+        this.studentIds = studIds;
+    }
+
+    // --- Factory Methods (one per SeminarManager mutator) ---
+    public static Change addUser(User u) { return new Change(Op.ADD_USER, u.getId(), u, 0, null, null); }
+    public static Change deleteUser(String userId) { return new Change(Op.DELETE_USER, userId, null, 0, null, null); }
+    public static Change registerPresentation(Presentation p) { return new Change(Op.REGISTER_PRESENTATION, p.getStudentId(), p, 0, null, null); }
+    public static Change addEvaluation(String studentId, Evaluation e) { return new Change(Op.ADD_EVALUATION, studentId, e, 0, null, null); }
+    public static Change updateVotes(String studentId, int votes) { return new Change(Op.UPDATE_VOTES, studentId, null, votes, null, null); }
+
+    // A coordinator's override: same record as updateVotes, but it also restarts the live count and who has voted
+    public static Change overrideVotes(String studentId, int votes) {
+        Change c = updateVotes(studentId, votes);
+        c.override = true;
+        return c;
+    }
+    public static Change createSession(SeminarSession s) { return new Change(Op.CREATE_SESSION, s.getSessionId(), s, 0, null, null); }
+    public static Change deleteSession(String sessionId) { return new Change(Op.DELETE_SESSION, sessionId, null, 0, null, null); }
+
+    public static Change assignToSession(String sessionId, List<String> evalIds, List<String> studIds) {
+        return new Change(Op.ASSIGN_SESSION, sessionId, null, 0, new ArrayList<>(evalIds), new ArrayList<>(studIds));
+    }
+
+    public static Change assignReviewers(String studentId, List<String> evalIds) {
+        return new Change(Op.ASSIGN_REVIEWERS, studentId, null, 0, new ArrayList<>(evalIds), null);
+    }
+
+    // Getters
+    public long getSeq() { return seq; }
+    void setSeq(long seq) { this.seq = seq; }
+    public Op getOp() { return op; }
+    public String getKey() { return key; }
+    public Object getPayload() { return payload; }
+    public int getVotes() { return votes; }
+    public boolean isOverride() { return override; }
+    public List<String> getEvaluatorIds() { return evaluatorIds; }
+    public List<String> getStudentIds() { return studentIds; }
+
+    @Override
+    public String toString() { return "#" + seq + " " + op + " " + key; }
+}
@@ -0,0 +1,316 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+// Append-only Change Journal
+// Every mutation is appended as a small framed record: [length][crc32][SeminarCodec-encoded Change].
+// Once the journal outgrows the last snapshot, a checkpoint writes a fresh snapshot
+// and discards the journal segment that the snapshot covers. Tying the trigger to the
+// snapshot size keeps snapshot cost amortized O(1) per change, however large the data.
+//
+// All disk I/O happens on a single background writer thread. Callers only encode
+// their record and queue it, so the Swing event thread never waits on the disk.
+// The writer coalesces everything queued within DEBOUNCE_MS into one write + fsync.
+//
+// Sequence numbers are assigned while queueing, so file order always matches
+// sequence order even when several threads append at once.
+//
+// A failed write or fsync stops the writer for good: nothing after a lost record may reach
+// the file (replay would skip the gap), and callers must not believe it was saved. flush()
+// then throws for anything not yet on disk, and every later append is refused.
+public class ChangeJournal {
+    private static final long MIN_CHECKPOINT_BYTES = 256 * 1024; // Journal size below which no snapshot is taken
+    private static final long DEBOUNCE_MS = 50;          // How long a burst may keep growing before it is written
+
+    private final File activeFile;       // Segment receiving new appends
+    private final File checkpointFile;   // Segment covered by an in-progress checkpoint
+    private final File dataFile;         // Snapshot file
+    private final LongFunction<byte[]> snapshotSource; // Encodes the current state as of a sequence number
+    private final Thread writer;
+    private FileOutputStream out;        // Only touched by the writer thread
+
+    // Instrumentation (see Metrics, SeminarEvents)
+    private final Metrics.Timer writeTimer;    // One group commit: write + fsync
+    private final Metrics.Timer snapshotTimer; // One checkpoint: encode + write the snapshot
+    private final Metrics.Counter bytesWritten;
+    private final Metrics.Counter recordsWritten;
+    private final Metrics.Counter snapshotBytesWritten;
+
+    // --- Writer Queue (guarded by 'this') ---
+    private long lastSeq;
+    private long bytesSinceCheckpoint;
+    private volatile long snapshotBytes;  // Size of the last snapshot written
+    private final ArrayDeque<Object> queue = new ArrayDeque<>(); // byte[] records and Checkpoint requests
+    private long queuedCount;     // Items ever queued
+    private long writtenCount;    // Items written and forced to disk
+    private long firstQueuedAt;   // When the oldest unwritten item was queued
+    private boolean flushRequested;
+    private boolean closed;
+    private IOException failure;  // Why the writer stopped, if a write failed
+
+    // A snapshot to publish once all records queued before it are on disk
+    private static class Checkpoint {
+        final long seq; // Last record the snapshot must cover
+        Checkpoint(long seq) { this.seq = seq; }
+    }
+
+    public ChangeJournal(String journalFile, String dataFile, LongFunction<byte[]> snapshotSource, Metrics metrics) {
+        this.activeFile = new File(journalFile);
+        this.checkpointFile = new File(journalFile + ".checkpoint");
+        this.dataFile = new File(dataFile);
+        this.snapshotSource = snapshotSource;
+        this.writeTimer = metrics.timer("journal.write");
+        this.snapshotTimer = metrics.timer("snapshot.save");
+        this.bytesWritten = metrics.counter("journal.bytes");
+        this.recordsWritten = metrics.counter("journal.records");
+        this.snapshotBytesWritten = metrics.counter("snapshot.bytes");
+        metrics.gauge("journal.pending", this::getPendingCount);
+        metrics.gauge("journal.bytesSinceSnapshot", this::getBytesSinceCheckpoint);
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // --- Replay ---
+    // Reads both segments in order (an interrupted checkpoint leaves the older one behind).
+    // A torn record at the tail (crash mid-append) ends the replay and is cut off.
+    public synchronized List<Change> replay() {
+        List<Change> changes = new ArrayList<>();
+        readSegment(checkpointFile, changes);
+        readSegment(activeFile, changes);
+        bytesSinceCheckpoint = checkpointFile.length() + activeFile.length();
+        snapshotBytes = dataFile.length();
+        return changes;
+    }
+
+    // Continue numbering after the last change already applied on load
+    public synchronized void resume(long seq) { lastSeq = seq; }
+
+    private void readSegment(File f, List<Change> into) {
+        if (!f.exists()) return;
+        long goodLength = 0;
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            long fileLength = raf.length();
+            while (goodLength + 12 <= fileLength) {
+                raf.seek(goodLength);
+                int len = raf.readInt();
+                long crc = raf.readLong();
+                if (len < 0 || goodLength + 12 + len > fileLength) break;
+                byte[] data = new byte[len];
+                raf.readFully(data);
+                if (checksum(data) != crc) break;
+                into.add(SeminarCodec.decodeChange(data));
+                goodLength += 12 + len;
+            }
+            if (goodLength < fileLength) {
+                System.out.println("Journal " + f.getName() + ": discarding torn tail at byte " + goodLength);
+                raf.setLength(goodLength);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // --- Append ---
+    // Numbers and encodes the record on the caller's thread and queues it.
+    // The change must already be applied in memory.
+    public synchronized void append(Change c) {
+        c.setSeq(++lastSeq);
+        byte[] data = SeminarCodec.encodeChange(c);
+        enqueue(data);
+        bytesSinceCheckpoint += data.length + 12;
+        if (bytesSinceCheckpoint >= Math.max(MIN_CHECKPOINT_BYTES, snapshotBytes)) checkpoint();
+    }
+
+    // Queues a whole batch at once so the writer picks it up as one write + fsync
+    public synchronized void appendAll(List<Change> changes) {
+        for (Change c : changes) {
+            c.setSeq(++lastSeq);
+            byte[] data = SeminarCodec.encodeChange(c);
+            enqueue(data);
+            bytesSinceCheckpoint += data.length + 12;
+        }
+        if (bytesSinceCheckpoint >= Math.max(MIN_CHECKPOINT_BYTES, snapshotBytes)) checkpoint();
+    }
+
+    // --- Checkpoint (Snapshot + Compaction) ---
+    // Queued right after the last appended record. The writer encodes the snapshot
+    // when it gets there, then deletes the segment holding the covered records.
+    // The snapshot may also contain a few newer changes; replaying them again is harmless.
+    public synchronized void checkpoint() {
+        enqueue(new Checkpoint(lastSeq));
+        bytesSinceCheckpoint = 0;
+    }
+
+    // --- Barriers ---
+    // Blocks until everything queued so far is on disk; throws if some of it never will be
+    public void flush() {
+        synchronized (this) {
+            long target = queuedCount;
+            flushRequested = true;
+            notifyAll();
+            while (writtenCount < target && failure == null && writer.isAlive()) {
+                try { wait(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); return; }
+            }
+            if (writtenCount < target) throw notWritten();
+        }
+    }
+
+    // Flush pending work and stop the writer (call before the application exits)
+    public void close() {
+        try {
+            flush();
+        } finally {
+            synchronized (this) { closed = true; notifyAll(); }
+            try { writer.join(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+    }
+
+    // Throws if new changes could no longer be saved (call before applying them)
+    public synchronized void checkWritable() {
+        if (failure != null || !writer.isAlive()) throw notWritten();
+    }
+
+    public synchronized long getPendingCount() { return queuedCount - writtenCount; }
+    public synchronized long getBytesSinceCheckpoint() { return bytesSinceCheckpoint; }
+
+    private synchronized void enqueue(Object item) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        checkWritable();
+        if (queue.isEmpty()) firstQueuedAt = System.currentTimeMillis();
+        queue.add(item);
+        queuedCount++;
+        notifyAll();
+    }
+
+    // --- Writer Thread ---
+    private void writeLoop() {
+        while (true) {
+            List<Object> batch;
+            long batchEnd;
+            synchronized (this) {
+                try {
+                    while (queue.isEmpty() && !closed) wait();
+                    if (queue.isEmpty()) break; // Closed and drained
+                    // Give the burst a short window to grow unless someone is waiting on it
+                    long deadline = firstQueuedAt + DEBOUNCE_MS;
+                    long now;
+                    while (!flushRequested && !closed && (now = System.currentTimeMillis()) < deadline) wait(deadline - now);
+                } catch (InterruptedException e) { break; }
+                batch = new ArrayList<>(queue);
+                queue.clear();
+                batchEnd = queuedCount;
+                flushRequested = false;
+            }
+
+            try {
+                writeBatch(batch);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    failure = e instanceof IOException ? (IOException) e : new IOException("Journal writer failed", e);
+                    notifyAll(); // Waiting flushes throw instead of hearing the batch was saved
+                }
+                break;
+            }
+
+            synchronized (this) {
+                writtenCount = batchEnd;
+                notifyAll();
+            }
+        }
+        closeActive();
+    }
+
+    private void writeBatch(List<Object> batch) throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(frames);
+        int records = 0;
+        for (Object item : batch) {
+            if (item instanceof byte[]) {
+                byte[] data = (byte[]) item;
+                dos.writeInt(data.length);
+                dos.writeLong(checksum(data));
+                dos.write(data);
+                records++;
+            } else {
+                // Everything before the checkpoint goes into the segment it covers
+                writeFrames(frames, records);
+                frames.reset();
+                records = 0;
+                runCheckpoint((Checkpoint) item);
+            }
+        }
+        writeFrames(frames, records);
+    }
+
+    // One write and one fsync for the whole group
+    private void writeFrames(ByteArrayOutputStream frames, int records) throws IOException {
+        if (frames.size() == 0) return;
+        SeminarEvents.Persistence event = new SeminarEvents.Persistence();
+        event.begin();
+        long t0 = System.nanoTime();
+        if (out == null) out = new FileOutputStream(activeFile, true);
+        frames.writeTo(out);
+        out.getChannel().force(false);
+        writeTimer.record(t0);
+        bytesWritten.add(frames.size());
+        recordsWritten.add(records);
+        event.operation = "journal-write";
+        event.bytes = frames.size();
+        event.records = records;
+        event.commit();
+    }
+
+    private void runCheckpoint(Checkpoint cp) throws IOException {
+        SeminarEvents.Persistence event = new SeminarEvents.Persistence();
+        event.begin();
+        long t0 = System.nanoTime();
+        closeActive();
+        // Set the covered records aside so a crash mid-snapshot can still replay them
+        if (activeFile.exists()) {
+            if (checkpointFile.exists()) {
+                // Earlier checkpoint never finished: keep its records together with ours
+                Files.write(checkpointFile.toPath(), Files.readAllBytes(activeFile.toPath()), StandardOpenOption.APPEND);
+                Files.delete(activeFile.toPath());
+            } else {
+                Files.move(activeFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        File tmp = new File(dataFile.getPath() + ".tmp");
+        byte[] snapshot = snapshotSource.apply(cp.seq);
+        Files.write(tmp.toPath(), snapshot);
+        snapshotBytes = snapshot.length;
+        Files.move(tmp.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(checkpointFile.toPath());
+        snapshotTimer.record(t0);
+        snapshotBytesWritten.add(snapshot.length);
+        event.operation = "snapshot";
+        event.bytes = snapshot.length;
+        event.commit();
+    }
+
+    // --- Helpers ---
+    private UncheckedIOException notWritten() {
+        IOException cause = failure != null ? failure : new IOException("Journal writer is not running");
+        return new UncheckedIOException("Changes could not be saved to " + activeFile.getName(), cause);
+    }
+
+    private void closeActive() {
+        if (out == null) return;
+        try { out.close(); } catch (IOException e) { e.printStackTrace(); }
+        out = null;
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+}
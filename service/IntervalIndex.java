@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Session Interval Index
+// For each key (a venue or an evaluator ID), a balanced interval tree of the timed
+// sessions booked under it. "What overlaps this slot?" costs O(log n + k) for the
+// k sessions returned, instead of reparsing and scanning every session.
+//
+// Each tree is a treap ordered by (start, session ID); every node also keeps the
+// latest end time in its subtree, so whole subtrees that end before the slot starts
+// are skipped. Sessions whose time doesn't parse are not indexed.
+//
+// Writers are serialized by SeminarManager (structureLock); readers may come from
+// any thread, so every method locks the index.
+public class IntervalIndex {
+    private static class Node {
+        final SeminarSession session;
+        final long start, end;
+        final int priority;
+        long maxEnd;
+        Node left, right;
+
+        Node(SeminarSession s) {
+            this.session = s;
+            this.start = s.getStartMinute();
+            this.end = s.getEndMinute();
+            this.maxEnd = end;
+            this.priority = mix(s.getSessionId().hashCode()); // Deterministic shape for the same data
+        }
+    }
+
+    private final Map<String, Node> roots = new HashMap<>();
+
+    public synchronized void add(String key, SeminarSession s) {
+        if (!s.isTimed()) return;
+        Node root = delete(roots.get(key), s.getStartMinute(), s.getSessionId()); // Re-adding replaces
+        roots.put(key, insert(root, new Node(s)));
+    }
+
+    public synchronized void remove(String key, SeminarSession s) {
+        if (!s.isTimed()) return;
+        Node root = delete(roots.get(key), s.getStartMinute(), s.getSessionId());
+        if (root == null) roots.remove(key);
+        else roots.put(key, root);
+    }
+
+    // Sessions under this key that overlap [start, end), earliest first
+    public synchronized List<SeminarSession> overlapping(String key, long start, long end) {
+        List<SeminarSession> result = new ArrayList<>();
+        collect(roots.get(key), start, end, result);
+        return result;
+    }
+
+    public synchronized void clear() { roots.clear(); }
+
+    // --- Treap ---
+    private static int compare(long start, String id, Node n) {
+        int c = Long.compare(start, n.start);
+        return c != 0 ? c : id.compareTo(n.session.getSessionId());
+    }
+
+    private static Node insert(Node root, Node n) {
+        if (root == null) return n;
+        if (compare(n.start, n.session.getSessionId(), root) < 0) {
+            root.left = insert(root.left, n);
+            if (root.left.priority > root.priority) root = rotateRight(root);
+        } else {
+            root.right = insert(root.right, n);
+            if (root.right.priority > root.priority) root = rotateLeft(root);
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node delete(Node root, long start, String id) {
+        if (root == null) return null;
+        int c = compare(start, id, root);
+        if (c < 0) root.left = delete(root.left, start, id);
+        else if (c > 0) root.right = delete(root.right, start, id);
+        else return merge(root.left, root.right);
+        update(root);
+        return root;
+    }
+
+    // Joins two treaps where every key in a is below every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static void update(Node n) {
+        long max = n.end;
+        if (n.left != null) max = Math.max(max, n.left.maxEnd);
+        if (n.right != null) max = Math.max(max, n.right.maxEnd);
+        n.maxEnd = max;
+    }
+
+    // In-order, so results come out sorted by start time
+    private static void collect(Node n, long start, long end, List<SeminarSession> out) {
+        if (n == null || n.maxEnd <= start) return; // Everything below ends before the slot
+        collect(n.left, start, end, out);
+        if (n.start >= end) return;                 // This node and its right subtree start after the slot
+        if (n.end > start) out.add(n.session);
+        collect(n.right, start, end, out);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
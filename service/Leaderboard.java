@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Ranked Award Board
+// Keeps presentations sorted by a score in a skip list, so an update costs O(log n)
+// and the top K are read in O(K + log n) without scanning every presentation.
+// Ties are broken the same way every time: higher score, then more evaluations,
+// then the lower student ID.
+//
+// Updates for one presentation must be serialized by the caller (SeminarManager
+// holds the presentation's stripe lock). Reads are lock-free.
+public class Leaderboard {
+    // One presentation's position on the board (immutable; replaced on every update)
+    public static class Entry {
+        private final Presentation presentation;
+        private final double score;
+        private final int evaluations;
+
+        Entry(Presentation presentation, double score, int evaluations) {
+            this.presentation = presentation;
+            this.score = score;
+            this.evaluations = evaluations;
+        }
+
+        public Presentation getPresentation() { return presentation; }
+        public String getStudentId() { return presentation.getStudentId(); }
+        public double getScore() { return score; }
+        public int getEvaluations() { return evaluations; }
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator
+        .comparingDouble((Entry e) -> e.score).reversed()
+        .thenComparing(Comparator.comparingInt((Entry e) -> e.evaluations).reversed())
+        .thenComparing(Entry::getStudentId);
+
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<String, Entry> current = new ConcurrentHashMap<>(); // Key: Student ID
+
+    // Places (or moves) the presentation on the board
+    public void update(Presentation p, double score, int evaluations) {
+        Entry e = new Entry(p, score, evaluations);
+        Entry old = current.get(p.getStudentId());
+        if (old != null && RANKING.compare(old, e) == 0) {
+            if (old.presentation == p) return; // Same place on the board
+            ranked.remove(old);               // Equal keys: the skip list can't hold both
+            old = null;
+        }
+        // Insert before removing, so readers never miss the presentation (top() skips the stale copy)
+        ranked.add(e);
+        current.put(p.getStudentId(), e);
+        if (old != null) ranked.remove(old);
+    }
+
+    public void remove(String studentId) {
+        Entry old = current.remove(studentId);
+        if (old != null) ranked.remove(old);
+    }
+
+    // Best k entries in ranking order
+    public List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, 16));
+        for (Entry e : ranked) {
+            if (result.size() >= k) break;
+            if (current.get(e.getStudentId()) != e) continue; // Copy from an update in progress
+            result.add(e);
+        }
+        return result;
+    }
+
+    public int size() { return current.size(); }
+
+    public void clear() {
+        current.clear();
+        ranked.clear();
+    }
+}
@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Operation Metrics
+// Latency histograms, counters and gauges for the hot paths of the application,
+// cheap enough to leave on all the time: recording a latency is two nanoTime calls
+// and a few uncontended atomic adds, with no allocation and no locks.
+//
+// Histograms bucket by power of two with 8 linear sub-buckets each, so percentiles
+// are within 12.5% of the true value across the whole range (nanoseconds to hours).
+// Look up each Timer or Counter once and keep it; the name lookup is not free.
+public class Metrics {
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    public Timer timer(String name) { return timers.computeIfAbsent(name, k -> new Timer()); }
+    public Counter counter(String name) { return counters.computeIfAbsent(name, k -> new Counter()); }
+
+    // Read only when a report is produced (e.g. index sizes)
+    public void gauge(String name, LongSupplier value) { gauges.put(name, value); }
+
+    // --- Latency Histogram ---
+    public static class Timer {
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        // Usage: long t0 = System.nanoTime(); ... timer.record(t0);
+        public void record(long startNanos) {
+            recordNanos(System.nanoTime() - startNanos);
+        }
+
+        public void recordNanos(long nanos) {
+            if (nanos < 0) nanos = 0;
+            buckets.incrementAndGet(bucket(nanos));
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getTotalNanos() { return totalNanos.sum(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+
+        public double getMeanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        // Upper edge of the bucket holding the q-th quantile (0 < q <= 1), capped at the max seen
+        public long getPercentileNanos(double q) {
+            long total = 0;
+            long[] snapshot = new long[buckets.length()];
+            for (int i = 0; i < snapshot.length; i++) total += snapshot[i] = buckets.get(i);
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) return Math.min(upperEdge(i), getMaxNanos());
+            }
+            return getMaxNanos();
+        }
+
+        // Values below 8 get their own bucket; above that, 8 buckets per power of two
+        static int bucket(long v) {
+            if (v < SUB_BUCKETS) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return ((exp - SUB_BITS + 1) << SUB_BITS) + sub;
+        }
+
+        static long upperEdge(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int exp = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+            int sub = bucket & (SUB_BUCKETS - 1);
+            long width = 1L << (exp - SUB_BITS);
+            return ((SUB_BUCKETS + sub) * width) + width - 1;
+        }
+    }
+
+    // --- Counter ---
+    public static class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() { value.increment(); }
+        public void add(long n) { value.add(n); }
+        public long get() { return value.sum(); }
+    }
+
+    // --- Reporting ---
+    // Plain-text table of every metric (shown in the diagnostics panel and GET /diagnostics)
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Uptime: ").append((System.currentTimeMillis() - startedAt) / 1000).append(" s\n\n");
+        sb.append(String.format("%-24s %9s %10s %10s %10s %10s %10s%n", "Operation (ms)", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, Timer> e : new TreeMap<>(timers).entrySet()) {
+            Timer t = e.getValue();
+            if (t.getCount() == 0) continue;
+            sb.append(String.format("%-24s %9d %10.3f %10.3f %10.3f %10.3f %10.3f%n", e.getKey(), t.getCount(),
+                t.getMeanNanos() / 1e6, t.getPercentileNanos(0.50) / 1e6, t.getPercentileNanos(0.90) / 1e6,
+                t.getPercentileNanos(0.99) / 1e6, t.getMaxNanos() / 1e6));
+        }
+        sb.append("\nCounters:\n");
+        for (Map.Entry<String, Counter> e : new TreeMap<>(counters).entrySet()) {
+            sb.append(String.format("  %-30s %,15d%n", e.getKey(), e.getValue().get()));
+        }
+        sb.append("\nCurrent sizes:\n");
+        for (Map.Entry<String, LongSupplier> e : new TreeMap<>(gauges).entrySet()) {
+            long v;
+            try {
+                v = e.getValue().getAsLong();
+            } catch (RuntimeException ex) {
+                continue; // A gauge must never break the report
+            }
+            sb.append(String.format("  %-30s %,15d%n", e.getKey(), v));
+        }
+        return sb.toString();
+    }
+
+    public void writeReport(Writer out) throws IOException {
+        out.write(report());
+        out.flush();
+    }
+
+    public void writeReport(Path file) throws IOException {
+        Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Insertion-Ordered Concurrent Index
+// O(1) lookup by key plus lock-free iteration in insertion order.
+// Iteration is weakly consistent, so it never throws ConcurrentModificationException.
+// Writers touching the same key must be serialized by the caller.
+public class OrderedIndex<V> {
+    private static class Slot<V> {
+        final long order;
+        final V value;
+        Slot(long order, V value) { this.order = order; this.value = value; }
+    }
+
+    private final ConcurrentHashMap<String, Slot<V>> byKey = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, V> byOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextOrder = new AtomicLong();
+
+    public V get(String key) {
+        Slot<V> slot = byKey.get(key);
+        return slot == null ? null : slot.value;
+    }
+
+    public boolean containsKey(String key) { return byKey.containsKey(key); }
+
+    // Adds or replaces; a replaced entry moves to the end (same as remove + add)
+    public V put(String key, V value) {
+        Slot<V> slot = new Slot<>(nextOrder.getAndIncrement(), value);
+        Slot<V> old = byKey.put(key, slot);
+        if (old != null) byOrder.remove(old.order);
+        byOrder.put(slot.order, value);
+        return old == null ? null : old.value;
+    }
+
+    public V remove(String key) {
+        Slot<V> old = byKey.remove(key);
+        if (old == null) return null;
+        byOrder.remove(old.order);
+        return old.value;
+    }
+
+    // Live read-only view in insertion order
+    public Collection<V> values() { return Collections.unmodifiableCollection(byOrder.values()); }
+
+    public int size() { return byKey.size(); }
+
+    public boolean isEmpty() { return byKey.isEmpty(); }
+
+    public void clear() {
+        byKey.clear();
+        byOrder.clear();
+    }
+}
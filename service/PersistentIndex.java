@@ -0,0 +1,221 @@
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Persistent Ordered Index
+// Same shape as OrderedIndex (lookup by key, iteration in insertion order), but immutable:
+// every update returns a new index and leaves the old one as it was. Updates copy only
+// the nodes on the path they touch and share the rest, so old versions stay valid for
+// as long as a reader holds them, at almost no cost to writers.
+//
+// Keys map to a slot number through a treap; values sit in a 32-way trie indexed by
+// slot, so replacing a value in place copies three small arrays for up to 32768 slots.
+// Removed entries leave an empty slot behind; once they outnumber the live ones the
+// slots are renumbered.
+public final class PersistentIndex<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentIndex<Object> EMPTY = new PersistentIndex<>(null, new Object[WIDTH], 0, 0, 0);
+
+    // Key -> slot
+    private static final class Node {
+        final String key;
+        final int slot;
+        final int priority;
+        final Node left, right;
+
+        Node(String key, int slot, int priority, Node left, Node right) {
+            this.key = key;
+            this.slot = slot;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private final Node byKey;
+    private final Object[] slots;  // Trie root; leaves hold values, null = free slot
+    private final int shift;       // BITS * (trie depth - 1)
+    private final int nextSlot;
+    private final int size;
+
+    private PersistentIndex(Node byKey, Object[] slots, int shift, int nextSlot, int size) {
+        this.byKey = byKey;
+        this.slots = slots;
+        this.shift = shift;
+        this.nextSlot = nextSlot;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIndex<V> empty() { return (PersistentIndex<V>) EMPTY; }
+
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int slot = find(byKey, key);
+        return slot < 0 ? null : (V) leaf(slot)[slot & MASK];
+    }
+
+    public boolean containsKey(String key) { return find(byKey, key) >= 0; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // Adds or replaces; a replaced entry moves to the end (same as OrderedIndex.put)
+    public PersistentIndex<V> put(String key, V value) {
+        int old = find(byKey, key);
+        Object[] root = old < 0 ? slots : set(slots, shift, old, null);
+        int rootShift = shift;
+        if (nextSlot >>> rootShift >= WIDTH) { // Trie is full: add a level on top
+            Object[] grown = new Object[WIDTH];
+            grown[0] = root;
+            root = grown;
+            rootShift += BITS;
+        }
+        PersistentIndex<V> next = new PersistentIndex<>(insert(byKey, key, nextSlot, mix(key.hashCode())),
+            set(root, rootShift, nextSlot, value), rootShift, nextSlot + 1, old < 0 ? size + 1 : size);
+        return old < 0 ? next : next.compactIfSparse();
+    }
+
+    // Replaces the value but keeps its position (adds at the end if the key is new)
+    public PersistentIndex<V> replace(String key, V value) {
+        int old = find(byKey, key);
+        if (old < 0) return put(key, value);
+        return new PersistentIndex<>(byKey, set(slots, shift, old, value), shift, nextSlot, size);
+    }
+
+    public PersistentIndex<V> remove(String key) {
+        int old = find(byKey, key);
+        if (old < 0) return this;
+        return new PersistentIndex<V>(delete(byKey, key), set(slots, shift, old, null), shift, nextSlot, size - 1)
+            .compactIfSparse();
+    }
+
+    // Values in insertion order; walks the trie directly (no copy)
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override public Iterator<V> iterator() { return new InOrder(); }
+            @Override public int size() { return size; }
+        };
+    }
+
+    // --- Slot Trie (path copying) ---
+    private Object[] leaf(int slot) {
+        Object[] node = slots;
+        for (int s = shift; s > 0; s -= BITS) node = (Object[]) node[(slot >>> s) & MASK];
+        return node;
+    }
+
+    private static Object[] set(Object[] node, int shift, int slot, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int i = (slot >>> shift) & MASK;
+        copy[i] = shift == 0 ? value : set((Object[]) copy[i], shift - BITS, slot, value);
+        return copy;
+    }
+
+    // Renumbers the live entries 0..size-1 once free slots outnumber them
+    private PersistentIndex<V> compactIfSparse() {
+        if (nextSlot - size <= Math.max(WIDTH, size)) return this;
+        List<Node> live = new ArrayList<>(size);
+        collect(byKey, live);
+        live.sort((a, b) -> Integer.compare(a.slot, b.slot));
+        PersistentIndex<V> result = empty();
+        for (Node n : live) result = result.put(n.key, leafValue(n.slot));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V leafValue(int slot) { return (V) leaf(slot)[slot & MASK]; }
+
+    private static void collect(Node n, List<Node> into) {
+        for (; n != null; n = n.right) {
+            collect(n.left, into);
+            into.add(n);
+        }
+    }
+
+    private final class InOrder implements Iterator<V> {
+        private int slot = -1;
+        private Object[] leaf;
+
+        InOrder() { advance(); }
+
+        private void advance() {
+            while (++slot < nextSlot) {
+                if ((slot & MASK) == 0 || leaf == null) leaf = leaf(slot);
+                if (leaf != null && leaf[slot & MASK] != null) return;
+            }
+        }
+
+        @Override public boolean hasNext() { return slot < nextSlot; }
+
+        @SuppressWarnings("unchecked")
+        @Override public V next() {
+            if (slot >= nextSlot) throw new NoSuchElementException();
+            V v = (V) leaf[slot & MASK];
+            advance();
+            return v;
+        }
+    }
+
+    // --- Key Treap (path copying) ---
+    private static int find(Node n, String key) {
+        while (n != null) {
+            int c = key.compareTo(n.key);
+            if (c == 0) return n.slot;
+            n = c < 0 ? n.left : n.right;
+        }
+        return -1;
+    }
+
+    private static Node insert(Node n, String key, int slot, int priority) {
+        if (n == null) return new Node(key, slot, priority, null, null);
+        int c = key.compareTo(n.key);
+        if (c == 0) return new Node(key, slot, n.priority, n.left, n.right);
+        if (c < 0) {
+            Node l = insert(n.left, key, slot, priority);
+            if (l.priority > n.priority) { // Rotate right
+                return new Node(l.key, l.slot, l.priority, l.left, new Node(n.key, n.slot, n.priority, l.right, n.right));
+            }
+            return new Node(n.key, n.slot, n.priority, l, n.right);
+        }
+        Node r = insert(n.right, key, slot, priority);
+        if (r.priority > n.priority) { // Rotate left
+            return new Node(r.key, r.slot, r.priority, new Node(n.key, n.slot, n.priority, n.left, r.left), r.right);
+        }
+        return new Node(n.key, n.slot, n.priority, n.left, r);
+    }
+
+    private static Node delete(Node n, String key) {
+        if (n == null) return null;
+        int c = key.compareTo(n.key);
+        if (c == 0) return merge(n.left, n.right);
+        if (c < 0) {
+            Node l = delete(n.left, key);
+            return l == n.left ? n : new Node(n.key, n.slot, n.priority, l, n.right);
+        }
+        Node r = delete(n.right, key);
+        return r == n.right ? n : new Node(n.key, n.slot, n.priority, n.left, r);
+    }
+
+    // Joins two treaps where every key in a is below every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) return new Node(a.key, a.slot, a.priority, a.left, merge(a.right, b));
+        return new Node(b.key, b.slot, b.priority, merge(a, b.left), b.right);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
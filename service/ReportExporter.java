@@ -0,0 +1,93 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Formatter;
+import java.util.HashMap;
+import java.util.Map;
+
+// Report Export Engine
+// Streams reports straight to a file channel through a fixed-size buffer, so memory use
+// stays flat no matter how many presentations are exported. Lookups needed while
+// writing (e.g. evaluator names) are built once per export, keeping the cost linear.
+// Each report reads one SeminarSnapshot, so it is consistent however long it takes
+// and never holds up evaluators who are submitting scores meanwhile.
+public class ReportExporter {
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final SeminarManager manager;
+
+    public ReportExporter(SeminarManager manager) {
+        this.manager = manager;
+    }
+
+    // --- Final Evaluation Report (Rubrics + Comments + Board IDs) ---
+    public void writeFinalReport(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = Channels.newWriter(ch, StandardCharsets.UTF_8)) {
+            writeFinalReport(out);
+        }
+    }
+
+    // Same report to any character stream (e.g. an HTTP response); the caller closes 'dest'
+    public void writeFinalReport(Writer dest) throws IOException {
+        SeminarEvents.Report event = new SeminarEvents.Report();
+        event.begin();
+        long t0 = System.nanoTime();
+        long rows = 0;
+
+        SeminarSnapshot snap = manager.snapshot();
+
+        // Evaluator ID -> display name, built once for the whole report
+        Map<String, String> evaluatorNames = new HashMap<>();
+        for (User u : snap.getUsersByRole(Evaluator.class)) evaluatorNames.put(u.getId(), u.getUsername());
+
+        Writer out = new BufferedWriter(dest, BUFFER_CHARS);
+        Formatter fw = new Formatter(out);
+        fw.format("*************************************************************\n");
+        fw.format("              FINAL EVALUATION REPORT             \n");
+        fw.format("             Generated on: %s\n", java.time.LocalDate.now());
+        fw.format("*************************************************************\n\n");
+
+        for (Presentation p : snap.getAllPresentations()) {
+            // Header Info: Check if it's a Poster to add Board ID
+            String typeStr = p.getType();
+            if (p.getPresentationType() == PresentationType.POSTER && p.getBoardId() != null) {
+                typeStr += " [Board: " + p.getBoardId() + "]";
+            }
+
+            fw.format("STUDENT: %-25s | ID: %s\n", p.getStudentName(), p.getStudentId());
+            fw.format("TITLE:   %-50s\n", p.getTitle());
+            fw.format("TYPE:    %-25s\n", typeStr);
+            fw.format("-------------------------------------------------------------\n");
+
+            if (p.getEvaluations().isEmpty()) {
+                fw.format("STATUS:  PENDING (No evaluations yet)\n");
+            } else {
+                // Loop through each evaluator's feedback
+                for (Evaluation ev : p.getEvaluations()) {
+                    String eName = evaluatorNames.getOrDefault(ev.getEvaluatorId(), ev.getEvaluatorId());
+                    fw.format("   > Evaluator: %s\n", eName);
+                    fw.format("     [Scores] Clarity: %d | Method: %d | Results: %d | Pres: %d\n",
+                        ev.getScore1(), ev.getScore2(), ev.getScore3(), ev.getScore4());
+                    fw.format("     [Comment] \"%s\"\n\n", ev.getComments());
+                }
+                // Final Average (cached on the presentation)
+                fw.format("FINAL AVERAGE SCORE: %.2f / 20.00\n", p.getScores().getAverage());
+            }
+            fw.format("=============================================================\n\n");
+            rows++;
+        }
+        fw.flush();
+        if (fw.ioException() != null) throw fw.ioException();
+
+        manager.getMetrics().timer("report.final").record(t0);
+        event.report = "final";
+        event.rows = rows;
+        event.commit();
+    }
+}
@@ -0,0 +1,271 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Reviewer Load Balancing (min-cost flow)
+// Picks exactly N reviewers for every presentation that is in a session, choosing
+// only from that session's evaluators and never the presentation's own supervisor.
+//
+// Network: source -> presentation (capacity N) -> eligible evaluator (capacity 1) -> sink.
+// The k-th presentation given to an evaluator costs M * (2k - 1), so total cost is
+// M * (sum of squared loads): the cheapest flow is the most even spread. Keeping an
+// evaluator who already scored the presentation is 1 cheaper, which only matters
+// between equally balanced answers (M outweighs all of those savings together).
+//
+// Solved by successive shortest paths with Dijkstra and node potentials, one unit
+// per path: O(F * E log V) for F = presentations * N. The convex sink cost is charged
+// from each evaluator's current load instead of materializing parallel edges.
+public class ReviewerAssigner {
+    private static final String[] TITLES = {"dr", "prof", "professor", "assoc", "mr", "mrs", "ms", "madam", "miss", "sir", "ir", "ts"};
+
+    private final SeminarManager manager;
+
+    public ReviewerAssigner(SeminarManager manager) {
+        this.manager = manager;
+    }
+
+    // --- Result ---
+    public static class Result {
+        private final int perPresentation;
+        private final Map<String, List<String>> reviewers = new LinkedHashMap<>(); // Student ID -> evaluator IDs
+        private final Map<String, Integer> load = new LinkedHashMap<>();           // Evaluator ID -> presentations
+        private final List<String> shortfalls = new ArrayList<>();
+
+        Result(int perPresentation) { this.perPresentation = perPresentation; }
+
+        public Map<String, List<String>> getReviewers() { return reviewers; }
+        public Map<String, Integer> getLoad() { return load; }
+        public List<String> getShortfalls() { return shortfalls; }
+
+        @Override
+        public String toString() {
+            int min = Integer.MAX_VALUE, max = 0;
+            for (int l : load.values()) { min = Math.min(min, l); max = Math.max(max, l); }
+            StringBuilder sb = new StringBuilder();
+            sb.append(reviewers.size()).append(" presentation(s) get ").append(perPresentation).append(" reviewer(s) each");
+            if (!load.isEmpty()) sb.append("; evaluator load ").append(min).append(" to ").append(max);
+            sb.append(".\n");
+            if (!shortfalls.isEmpty()) {
+                sb.append("\nNot enough eligible evaluators for ").append(shortfalls.size()).append(" presentation(s):\n");
+                for (String s : shortfalls) sb.append("  ").append(s).append("\n");
+            }
+            sb.append("\nLoad per evaluator:\n");
+            for (Map.Entry<String, Integer> e : load.entrySet()) sb.append("  ").append(e.getKey()).append(": ").append(e.getValue()).append("\n");
+            return sb.toString();
+        }
+    }
+
+    // --- Assignment ---
+    public Result assign(int perPresentation) {
+        if (perPresentation < 1) throw new IllegalArgumentException("Each presentation needs at least one reviewer");
+        Result result = new Result(perPresentation);
+
+        // Candidates: evaluators of every session the presentation is in, minus its supervisor
+        SeminarSnapshot snap = manager.snapshot(); // One consistent view for the whole assignment
+        Map<String, Set<String>> pool = new LinkedHashMap<>();
+        for (SeminarSession s : snap.getAllSessions()) {
+            for (String sId : s.getStudentIds()) pool.computeIfAbsent(sId, k -> new LinkedHashSet<>()).addAll(s.getEvaluatorIds());
+        }
+        List<Presentation> pres = new ArrayList<>();
+        List<String> evaluators = new ArrayList<>();
+        Map<String, Integer> evalIndex = new HashMap<>();
+        for (Map.Entry<String, Set<String>> e : pool.entrySet()) {
+            Presentation p = snap.getPresentationByStudent(e.getKey());
+            if (p == null) continue;
+            pres.add(p);
+            for (String evalId : e.getValue()) {
+                if (!evalIndex.containsKey(evalId) && snap.getUser(evalId) instanceof Evaluator) {
+                    evalIndex.put(evalId, evaluators.size());
+                    evaluators.add(evalId);
+                }
+            }
+        }
+
+        int P = pres.size(), E = evaluators.size();
+        int source = 0, sink = P + E + 1;
+        Network net = new Network(P + E + 2, (long) P * perPresentation + 1);
+        for (int i = 0; i < P; i++) {
+            Presentation p = pres.get(i);
+            net.addEdge(source, 1 + i, perPresentation, 0);
+            String supervisor = normalizeName(p.getSupervisor());
+            for (String evalId : pool.get(p.getStudentId())) {
+                Integer j = evalIndex.get(evalId);
+                if (j == null) continue;
+                if (!supervisor.isEmpty() && supervisor.equals(normalizeName(snap.getUser(evalId).getUsername()))) continue;
+                net.addEdge(1 + i, 1 + P + j, 1, p.isGradedBy(evalId) ? 0 : 1);
+            }
+        }
+        net.solve(source, sink, 1 + P);
+
+        // Read the reviewers off the saturated presentation -> evaluator edges
+        for (String evalId : evaluators) result.load.put(evalId, 0);
+        for (int i = 0; i < P; i++) {
+            Presentation p = pres.get(i);
+            List<String> picked = new ArrayList<>();
+            for (int edge = net.head[1 + i]; edge >= 0; edge = net.next[edge]) {
+                int to = net.to[edge];
+                if (to > P && to < sink && net.cap[edge] == 0 && (edge & 1) == 0) {
+                    String evalId = evaluators.get(to - 1 - P);
+                    picked.add(evalId);
+                    result.load.merge(evalId, 1, Integer::sum);
+                }
+            }
+            result.reviewers.put(p.getStudentId(), picked);
+            if (picked.size() < perPresentation) {
+                result.shortfalls.add(p.getStudentId() + " (" + p.getStudentName() + "): " + picked.size() + " of " + perPresentation);
+            }
+        }
+        return result;
+    }
+
+    // "Dr. Lim" and "lim" name the same person; titles and punctuation are ignored
+    static String normalizeName(String name) {
+        if (name == null) return "";
+        StringBuilder sb = new StringBuilder();
+        outer:
+        for (String word : name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9 ]", " ").trim().split("\\s+")) {
+            for (String t : TITLES) if (word.equals(t)) continue outer;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(word);
+        }
+        return sb.toString();
+    }
+
+    // --- Min-Cost Flow (adjacency arrays; edge i and i^1 are a residual pair) ---
+    private static class Network {
+        final int nodes;
+        final long loadWeight; // M: cost weight of evaluator load
+        int[] head, next = new int[16], to = new int[16], cap = new int[16];
+        long[] cost = new long[16];
+        int edges;
+
+        Network(int nodes, long loadWeight) {
+            this.nodes = nodes;
+            this.loadWeight = loadWeight;
+            head = new int[nodes];
+            Arrays.fill(head, -1);
+        }
+
+        void addEdge(int u, int v, int capacity, long c) {
+            if (edges + 2 > to.length) {
+                int n = to.length * 2;
+                next = Arrays.copyOf(next, n); to = Arrays.copyOf(to, n);
+                cap = Arrays.copyOf(cap, n); cost = Arrays.copyOf(cost, n);
+            }
+            to[edges] = v; cap[edges] = capacity; cost[edges] = c; next[edges] = head[u]; head[u] = edges++;
+            to[edges] = u; cap[edges] = 0; cost[edges] = -c; next[edges] = head[v]; head[v] = edges++;
+        }
+
+        // Evaluator nodes are [firstEval, sink); each has an implicit edge to the sink
+        // whose cost grows with the evaluator's load.
+        void solve(int source, int sink, int firstEval) {
+            int[] load = new int[nodes];
+            long[] potential = new long[nodes];
+            long[] dist = new long[nodes];
+            int[] viaEdge = new int[nodes];
+            boolean[] done = new boolean[nodes];
+            LongHeap heap = new LongHeap(nodes);
+
+            while (true) {
+                Arrays.fill(dist, Long.MAX_VALUE);
+                Arrays.fill(done, false);
+                dist[source] = 0;
+                heap.clear();
+                heap.push(0, source);
+                while (!heap.isEmpty()) {
+                    long d = heap.peekKey();
+                    int u = heap.pop();
+                    if (done[u] || d > dist[u]) continue;
+                    done[u] = true;
+                    if (u == sink) break;
+                    if (u >= firstEval && u < sink) {
+                        long c = loadWeight * (2L * load[u] + 1) + potential[u] - potential[sink];
+                        if (d + c < dist[sink]) {
+                            dist[sink] = d + c;
+                            viaEdge[sink] = -1 - u; // Implicit sink edge from u
+                            heap.push(dist[sink], sink);
+                        }
+                    }
+                    for (int e = head[u]; e >= 0; e = next[e]) {
+                        if (cap[e] == 0) continue;
+                        int v = to[e];
+                        long nd = d + cost[e] + potential[u] - potential[v];
+                        if (nd < dist[v]) {
+                            dist[v] = nd;
+                            viaEdge[v] = e;
+                            heap.push(nd, v);
+                        }
+                    }
+                }
+                if (!done[sink]) return; // Every presentation has all the reviewers it can get
+
+                // Unsettled nodes take the sink's distance, which keeps reduced costs non-negative
+                long dSink = dist[sink];
+                for (int v = 0; v < nodes; v++) potential[v] += done[v] ? dist[v] : dSink;
+
+                int u = -1 - viaEdge[sink];
+                load[u]++;
+                while (u != source) {
+                    int e = viaEdge[u];
+                    cap[e]--;
+                    cap[e ^ 1]++;
+                    u = to[e ^ 1];
+                }
+            }
+        }
+    }
+
+    // Binary min-heap of (key, node) pairs; stale entries are skipped by the caller
+    private static class LongHeap {
+        private long[] keys;
+        private int[] vals;
+        private int size;
+
+        LongHeap(int capacity) {
+            keys = new long[Math.max(16, capacity)];
+            vals = new int[keys.length];
+        }
+
+        boolean isEmpty() { return size == 0; }
+        void clear() { size = 0; }
+        long peekKey() { return keys[0]; }
+
+        void push(long key, int val) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                vals = Arrays.copyOf(vals, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent]; vals[i] = vals[parent];
+                i = parent;
+            }
+            keys[i] = key; vals[i] = val;
+        }
+
+        int pop() {
+            int top = vals[0];
+            long key = keys[--size];
+            int val = vals[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                keys[i] = keys[child]; vals[i] = vals[child];
+                i = child;
+            }
+            keys[i] = key; vals[i] = val;
+            return top;
+        }
+    }
+}
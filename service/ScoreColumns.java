@@ -0,0 +1,227 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Columnar Score Store
+// Every current evaluation as one row of primitive columns: presentation ordinal,
+// evaluator ordinal and the four criterion scores (one byte each). Analytics scan it with
+// plain loops over arrays instead of chasing one object per evaluation. It is an extra copy
+// of the scores (about 12 bytes a row): the Evaluation objects stay, since the views,
+// reports and the codec still need them, so this trades a little memory for scan speed.
+//
+// IDs map to dense ordinals (assigned on first use, never reused for another ID), so
+// per-presentation and per-evaluator figures can live in int-indexed arrays too.
+//
+// Updated by SeminarManager next to the presentations' own evaluation lists (a regrade
+// overwrites its row, a removed presentation drops its rows). Readers call view(): an
+// immutable, consistent picture of the columns. Rows are kept in chunks of CHUNK_ROWS;
+// a view shares the chunks, and a later write copies only the chunk it touches (once per
+// view), so taking a view costs O(chunks), not O(rows), however often scores change.
+public class ScoreColumns {
+    public static final int CRITERIA = 4;
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT; // 1024 rows, 12 KB a chunk
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+
+    // --- Rows (guarded by 'this') ---
+    private final Ordinals presentationIds = new Ordinals();
+    private final Ordinals evaluatorIds = new Ordinals();
+    private int rows;
+    private Chunk[] chunks = new Chunk[0];
+    private int[] next = new int[1024];                // Next row of the same presentation (-1 = last); writer only
+    private int[] firstRow = new int[256];             // Per presentation ordinal (-1 = none)
+    private View view;                                 // Cached view (null = stale)
+
+    // CHUNK_ROWS rows of every column; never changed once a view holds it (shared)
+    private static final class Chunk {
+        final int[] presentation;
+        final int[] evaluator;
+        final byte[] scores; // Row r: scores[4r .. 4r+3]
+        boolean shared;
+
+        Chunk() {
+            this(new int[CHUNK_ROWS], new int[CHUNK_ROWS], new byte[CHUNK_ROWS * CRITERIA]);
+        }
+
+        Chunk(int[] presentation, int[] evaluator, byte[] scores) {
+            this.presentation = presentation;
+            this.evaluator = evaluator;
+            this.scores = scores;
+        }
+
+        Chunk copy() { return new Chunk(presentation.clone(), evaluator.clone(), scores.clone()); }
+    }
+
+    public ScoreColumns() {
+        Arrays.fill(firstRow, -1);
+    }
+
+    // --- Updates ---
+    // Adds the evaluation, or overwrites the row of an earlier one by the same evaluator
+    public synchronized void put(String studentId, Evaluation e) {
+        int p = presentationIds.ordinal(studentId);
+        int ev = evaluatorIds.ordinal(e.getEvaluatorId());
+        if (p >= firstRow.length) {
+            int old = firstRow.length;
+            firstRow = Arrays.copyOf(firstRow, Math.max(old * 2, p + 1));
+            Arrays.fill(firstRow, old, firstRow.length, -1);
+        }
+        int row = firstRow[p];
+        while (row >= 0 && evaluatorOf(row) != ev) row = next[row];
+        if (row < 0) {
+            row = rows++;
+            if (row == next.length) next = Arrays.copyOf(next, next.length * 2);
+            Chunk c = writable(row);
+            c.presentation[row & CHUNK_MASK] = p;
+            c.evaluator[row & CHUNK_MASK] = ev;
+            next[row] = firstRow[p];
+            firstRow[p] = row;
+        }
+        byte[] scores = writable(row).scores;
+        int at = (row & CHUNK_MASK) * CRITERIA;
+        scores[at] = (byte) e.getScore1();
+        scores[at + 1] = (byte) e.getScore2();
+        scores[at + 2] = (byte) e.getScore3();
+        scores[at + 3] = (byte) e.getScore4();
+        view = null;
+    }
+
+    public synchronized void removePresentation(String studentId) {
+        int p = presentationIds.find(studentId);
+        if (p < 0 || p >= firstRow.length || firstRow[p] < 0) return;
+        while (firstRow[p] >= 0) removeRow(firstRow[p]);
+        view = null;
+    }
+
+    public synchronized void clear() {
+        rows = 0;
+        chunks = new Chunk[0];
+        Arrays.fill(firstRow, -1);
+        view = null;
+    }
+
+    public synchronized int size() { return rows; }
+
+    // Chunk holding the row, copied first if a view still holds it
+    private Chunk writable(int row) {
+        int i = row >>> CHUNK_SHIFT;
+        if (i == chunks.length) chunks = Arrays.copyOf(chunks, i + 1);
+        Chunk c = chunks[i];
+        if (c == null) c = chunks[i] = new Chunk();
+        else if (c.shared) c = chunks[i] = c.copy();
+        return c;
+    }
+
+    private int presentationOf(int row) { return chunks[row >>> CHUNK_SHIFT].presentation[row & CHUNK_MASK]; }
+    private int evaluatorOf(int row) { return chunks[row >>> CHUNK_SHIFT].evaluator[row & CHUNK_MASK]; }
+
+    // Unlinks the row and fills the gap with the last row, so the columns stay dense
+    private void removeRow(int row) {
+        unlink(row);
+        int last = --rows;
+        if (row == last) return;
+        unlink(last);
+        Chunk from = chunks[last >>> CHUNK_SHIFT], to = writable(row);
+        int src = last & CHUNK_MASK, dst = row & CHUNK_MASK;
+        to.presentation[dst] = from.presentation[src];
+        to.evaluator[dst] = from.evaluator[src];
+        System.arraycopy(from.scores, src * CRITERIA, to.scores, dst * CRITERIA, CRITERIA);
+        int p = to.presentation[dst];
+        next[row] = firstRow[p];
+        firstRow[p] = row;
+    }
+
+    private void unlink(int row) {
+        int p = presentationOf(row);
+        if (firstRow[p] == row) {
+            firstRow[p] = next[row];
+            return;
+        }
+        int r = firstRow[p];
+        while (next[r] != row) r = next[r];
+        next[r] = next[row];
+    }
+
+    // --- Reads ---
+    // Consistent picture of every row; cheap to call again until something changes
+    public synchronized View view() {
+        if (view == null) {
+            Chunk[] held = Arrays.copyOf(chunks, (rows + CHUNK_MASK) >>> CHUNK_SHIFT);
+            for (Chunk c : held) c.shared = true;
+            view = new View(rows, held, presentationIds.snapshot(), evaluatorIds.snapshot());
+        }
+        return view;
+    }
+
+    // Immutable columns; rows are in no particular order
+    public static final class View {
+        private final int rows;
+        private final Chunk[] chunks;
+        private final Ordinals.Snapshot presentationIds, evaluatorIds;
+
+        private View(int rows, Chunk[] chunks, Ordinals.Snapshot presentationIds, Ordinals.Snapshot evaluatorIds) {
+            this.rows = rows;
+            this.chunks = chunks;
+            this.presentationIds = presentationIds;
+            this.evaluatorIds = evaluatorIds;
+        }
+
+        public int size() { return rows; }
+        public int presentation(int row) { return chunks[row >>> CHUNK_SHIFT].presentation[row & CHUNK_MASK]; }
+        public int evaluator(int row) { return chunks[row >>> CHUNK_SHIFT].evaluator[row & CHUNK_MASK]; }
+        // Criterion 0-3: clarity, methodology, results, presentation
+        public int score(int row, int criterion) { return chunks[row >>> CHUNK_SHIFT].scores[(row & CHUNK_MASK) * CRITERIA + criterion]; }
+        public int total(int row) {
+            byte[] scores = chunks[row >>> CHUNK_SHIFT].scores;
+            int at = (row & CHUNK_MASK) * CRITERIA;
+            return scores[at] + scores[at + 1] + scores[at + 2] + scores[at + 3];
+        }
+
+        // Ordinals run from 0 to count-1; an ordinal may have no rows (e.g. a removed presentation)
+        public int presentationCount() { return presentationIds.count; }
+        public int evaluatorCount() { return evaluatorIds.count; }
+        public String presentationId(int ordinal) { return presentationIds.get(ordinal); }
+        public String evaluatorId(int ordinal) { return evaluatorIds.get(ordinal); }
+    }
+
+    // ID <-> dense ordinal
+    private static final class Ordinals {
+        private final Map<String, Integer> byId = new HashMap<>();
+        private String[] ids = new String[256]; // Slots below count are never rewritten, so snapshots can share the array
+        private int count;
+
+        int ordinal(String id) {
+            Integer o = byId.get(id);
+            if (o == null) {
+                o = count;
+                if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+                ids[count++] = id;
+                byId.put(id, o);
+            }
+            return o;
+        }
+
+        int find(String id) {
+            Integer o = byId.get(id);
+            return o == null ? -1 : o;
+        }
+
+        Snapshot snapshot() { return new Snapshot(ids, count); }
+
+        // The first 'count' IDs as of the snapshot (O(1): shares the array)
+        static final class Snapshot {
+            private final String[] ids;
+            final int count;
+
+            Snapshot(String[] ids, int count) {
+                this.ids = ids;
+                this.count = count;
+            }
+
+            String get(int ordinal) {
+                if (ordinal >= count) throw new IndexOutOfBoundsException("Ordinal " + ordinal);
+                return ids[ordinal];
+            }
+        }
+    }
+}
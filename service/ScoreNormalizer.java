@@ -0,0 +1,146 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Evaluator Bias Statistics
+// Running mean and variance of every evaluator's total scores (out of 20). Totals are small
+// integers, so each evaluator keeps an exact count, sum and sum of squares: adding, removing
+// or replacing one score is O(1), never a rescan, and (unlike a floating-point Welford update)
+// the figures are exactly the same whatever order the scores arrived in.
+// A lenient evaluator's 16 and a strict one's 12 can mean the same thing; z-scores
+// ((total - evaluator mean) / evaluator standard deviation) put them on one scale.
+//
+// A presentation's normalized score is the average z-score of its evaluations against each
+// evaluator's current figures. One new score moves its evaluator's figures and so every
+// presentation that evaluator graded, so the ranking is worked out when it is read, from the
+// current figures, and cached until the next score change (reads between changes are free).
+//
+// Updates for different evaluators never block each other; ones for the same evaluator are
+// atomic (ConcurrentHashMap.compute), so stripe-locked submissions can run side by side.
+public class ScoreNormalizer {
+    // One evaluator's figures (immutable; replaced on every update)
+    public static final class Stats {
+        public static final Stats EMPTY = new Stats(0, 0, 0);
+
+        private final int count;
+        private final long sum, sumSq;  // Of the totals
+        private final double mean;
+        private final double inverseSd; // 1 / standard deviation, or 0 with no spread (z() runs once per evaluation ranked)
+
+        private Stats(int count, long sum, long sumSq) {
+            this.count = count;
+            this.sum = sum;
+            this.sumSq = sumSq;
+            this.mean = count == 0 ? 0.0 : (double) sum / count;
+            double sd = Math.sqrt(getVariance());
+            this.inverseSd = sd < 1e-9 ? 0.0 : 1.0 / sd;
+        }
+
+        Stats plus(int total) { return new Stats(count + 1, sum + total, sumSq + (long) total * total); }
+        Stats minus(int total) { return count <= 1 ? EMPTY : new Stats(count - 1, sum - total, sumSq - (long) total * total); }
+
+        public int getCount() { return count; }
+        public double getMean() { return mean; }
+        // Sample variance (0 until there are two scores); n*sumSq - sum^2 is exact in integers
+        public double getVariance() { return count < 2 ? 0.0 : (double) (count * sumSq - sum * sum) / ((double) count * (count - 1)); }
+        public double getStdDev() { return Math.sqrt(getVariance()); }
+
+        // How far this total sits from the evaluator's usual score, in standard deviations
+        // (0 while the evaluator has no spread to measure against)
+        public double z(double total) { return (total - mean) * inverseSd; }
+    }
+
+    // Same order as the award boards: higher score, then more evaluations, then the lower student ID
+    private static final Comparator<Leaderboard.Entry> RANKING = Comparator
+        .comparingDouble(Leaderboard.Entry::getScore).reversed()
+        .thenComparing(Comparator.comparingInt(Leaderboard.Entry::getEvaluations).reversed())
+        .thenComparing(Leaderboard.Entry::getStudentId);
+
+    private final Map<String, Stats> byEvaluator = new ConcurrentHashMap<>(); // Key: Evaluator ID
+    private final AtomicLong version = new AtomicLong(); // Bumped by every score change
+
+    // Last ranking worked out per type (replaced, never changed)
+    private static final class Ranking {
+        final long version;
+        final List<Leaderboard.Entry> entries;
+
+        Ranking(long version, List<Leaderboard.Entry> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+    }
+    private final Map<PresentationType, Ranking> rankings = new ConcurrentHashMap<>();
+
+    // --- Updates ---
+    public void add(Evaluation e) {
+        byEvaluator.compute(e.getEvaluatorId(), (id, s) -> (s == null ? Stats.EMPTY : s).plus(e.getTotal()));
+        version.incrementAndGet();
+    }
+
+    public void remove(Evaluation e) {
+        byEvaluator.computeIfPresent(e.getEvaluatorId(), (id, s) -> {
+            Stats left = s.minus(e.getTotal());
+            return left.getCount() == 0 ? null : left;
+        });
+        version.incrementAndGet();
+    }
+
+    // A regrade: the evaluator's old total makes way for the new one
+    public void replace(Evaluation old, Evaluation e) {
+        if (old == null) {
+            add(e);
+            return;
+        }
+        byEvaluator.compute(e.getEvaluatorId(), (id, s) -> (s == null ? Stats.EMPTY : s.minus(old.getTotal())).plus(e.getTotal()));
+        version.incrementAndGet();
+    }
+
+    public void clear() {
+        byEvaluator.clear();
+        version.incrementAndGet();
+    }
+
+    // --- Reads ---
+    public Stats getStats(String evaluatorId) {
+        Stats s = byEvaluator.get(evaluatorId);
+        return s == null ? Stats.EMPTY : s;
+    }
+
+    public int getEvaluatorCount() { return byEvaluator.size(); }
+
+    // Average z-score of the presentation's evaluations (0 if it has none).
+    // The terms are added smallest first, so the result doesn't depend on the order the evaluations came in.
+    public double normalizedScore(Presentation p) {
+        List<Evaluation> evals = p.getEvaluations();
+        if (evals.isEmpty()) return 0.0;
+        double[] z = new double[evals.size()];
+        for (int i = 0; i < z.length; i++) z[i] = getStats(evals.get(i).getEvaluatorId()).z(evals.get(i).getTotal());
+        Arrays.sort(z);
+        double sum = 0;
+        for (double v : z) sum += v;
+        return sum / z.length;
+    }
+
+    // Best k evaluated presentations of the type by normalized score. Ranks all of them again
+    // (O(evaluations)) only if a score changed since the last call for this type.
+    public List<Leaderboard.Entry> top(Collection<Presentation> presentations, PresentationType type, int k) {
+        long v = version.get(); // Read first: a change during the scan leaves the result stale, not wrongly current
+        Ranking r = rankings.get(type);
+        if (r == null || r.version != v) {
+            List<Leaderboard.Entry> entries = new ArrayList<>();
+            for (Presentation p : presentations) {
+                int count = p.getEvaluations().size();
+                if (p.getPresentationType() == type && count > 0) entries.add(new Leaderboard.Entry(p, normalizedScore(p), count));
+            }
+            entries.sort(RANKING);
+            r = new Ranking(v, entries);
+            rankings.put(type, r);
+        }
+        return new ArrayList<>(r.entries.subList(0, Math.min(k, r.entries.size())));
+    }
+}
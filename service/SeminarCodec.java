@@ -0,0 +1,417 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact Binary Codec for the Seminar Data
+// Replaces default Java serialization for both the snapshot file and journal records.
+//
+// Snapshot layout (version 4):
+//   magic "SEMB" | version | lastSeq | text generation | string table | users | presentations | sessions
+// Version 2 adds each presentation's reviewer IDs; version 1 files and records still load.
+// Version 3 writes long abstracts and comments as references into the TextStore
+// (0 = the text itself follows, n = offset n-1 and a byte length). Journal records
+// always carry the text itself.
+// Version 4 adds the generation of the text file those references point into (0 before it).
+// Strings in a snapshot are written once into the table and referenced by index,
+// so repeated IDs, venues and supervisors cost one or two bytes each.
+// Journal records carry their strings inline since they are small and self-contained.
+// All counts, indexes and scores are unsigned varints (scores 1-5 take a single byte).
+public class SeminarCodec {
+    private static final int MAGIC = 0x53454D42; // "SEMB"
+    public static final int FORMAT_VERSION = 4;
+    private static final int OLDEST_READABLE_VERSION = 1;
+
+    private static final int ROLE_COORDINATOR = 0, ROLE_STUDENT = 1, ROLE_EVALUATOR = 2;
+
+    // Decoded content of a snapshot file
+    public static class Snapshot {
+        public final List<User> users;
+        public final List<Presentation> presentations;
+        public final List<SeminarSession> sessions;
+        public final long lastSeq;
+        public final int textGeneration; // TextStore file the text references point into
+        public final int version; // Format the data was read from (0 = legacy serialization)
+
+        public Snapshot(List<User> users, List<Presentation> presentations, List<SeminarSession> sessions, long lastSeq) {
+            this(users, presentations, sessions, lastSeq, 0);
+        }
+
+        public Snapshot(List<User> users, List<Presentation> presentations, List<SeminarSession> sessions, long lastSeq, int textGeneration) {
+            this(users, presentations, sessions, lastSeq, textGeneration, FORMAT_VERSION);
+        }
+
+        Snapshot(List<User> users, List<Presentation> presentations, List<SeminarSession> sessions, long lastSeq, int textGeneration, int version) {
+            this.users = users;
+            this.presentations = presentations;
+            this.sessions = sessions;
+            this.lastSeq = lastSeq;
+            this.textGeneration = textGeneration;
+            this.version = version;
+        }
+    }
+
+    // --- Snapshot Encoding ---
+    public static byte[] encodeSnapshot(Snapshot s) {
+        // Pass 1: body with string references, collecting the table as we go
+        Output body = new Output(new HashMap<>());
+        body.writeVarInt(s.users.size());
+        for (User u : s.users) writeUser(body, u);
+        body.writeVarInt(s.presentations.size());
+        for (Presentation p : s.presentations) writePresentation(body, p);
+        body.writeVarInt(s.sessions.size());
+        for (SeminarSession ss : s.sessions) writeSession(body, ss);
+
+        // Pass 2: header + table + body
+        Output file = new Output(null);
+        file.writeInt(MAGIC);
+        file.writeVarInt(FORMAT_VERSION);
+        file.writeVarLong(s.lastSeq);
+        file.writeVarInt(s.textGeneration);
+        file.writeVarInt(body.table.size());
+        for (String str : body.tableOrder) file.writeString(str);
+        file.writeBytes(body.toByteArray());
+        return file.toByteArray();
+    }
+
+    // --- Snapshot Decoding (memory-mapped) ---
+    // Long text is left in (or, from older files, moved to) the text store and loaded on demand.
+    // Without a store, the file must not refer to one.
+    public static Snapshot readSnapshot(File f) throws IOException {
+        return readSnapshot(f, null);
+    }
+
+    // Text generation a data file refers to (0 if there is no readable file, or it predates generations)
+    public static int readTextGeneration(File f) {
+        if (!f.exists()) return 0;
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            Input in = new Input(ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), 64)), null);
+            if (in.readInt() != MAGIC || in.readVarInt() < 4) return 0;
+            in.readVarLong(); // lastSeq
+            return in.readVarInt();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public static Snapshot readSnapshot(File f, TextStore texts) throws IOException {
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            return decodeSnapshot(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), texts);
+        }
+    }
+
+    public static Snapshot decodeSnapshot(ByteBuffer buf, TextStore texts) throws IOException {
+        Input in = new Input(buf, null);
+        in.texts = texts;
+        if (in.readInt() != MAGIC) throw new IOException("Not a seminar data file");
+        int version = in.readVarInt();
+        if (version < OLDEST_READABLE_VERSION || version > FORMAT_VERSION) throw new IOException("Unsupported data file version " + version);
+        in.version = version;
+        long lastSeq = in.readVarLong();
+        int textGeneration = version >= 4 ? in.readVarInt() : 0;
+        if (texts != null && textGeneration != texts.getGeneration()) throw new IOException("Data file refers to text generation " + textGeneration + ", store has " + texts.getGeneration());
+
+        String[] table = new String[in.readVarInt()];
+        for (int i = 0; i < table.length; i++) table[i] = in.readString();
+        in.table = table;
+
+        int n = in.readVarInt();
+        List<User> users = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) users.add(readUser(in));
+        n = in.readVarInt();
+        List<Presentation> presentations = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) presentations.add(readPresentation(in));
+        n = in.readVarInt();
+        List<SeminarSession> sessions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) sessions.add(readSession(in));
+        return new Snapshot(users, presentations, sessions, lastSeq, textGeneration, version);
+    }
+
+    // --- Journal Records ---
+    public static byte[] encodeChange(Change c) {
+        Output out = new Output(null);
+        out.writeVarInt(FORMAT_VERSION);
+        out.writeVarInt(c.getOp().ordinal());
+        out.writeVarLong(c.getSeq());
+        out.writeString(c.getKey());
+        switch (c.getOp()) {
+            case ADD_USER: writeUser(out, (User) c.getPayload()); break;
+            case REGISTER_PRESENTATION: writePresentation(out, (Presentation) c.getPayload()); break;
+            case ADD_EVALUATION: writeEvaluation(out, (Evaluation) c.getPayload()); break;
+            case UPDATE_VOTES: out.writeVarInt(zigZag(c.getVotes())); break;
+            case CREATE_SESSION: writeSession(out, (SeminarSession) c.getPayload()); break;
+            case ASSIGN_SESSION:
+                writeIds(out, c.getEvaluatorIds());
+                writeIds(out, c.getStudentIds());
+                break;
+            case ASSIGN_REVIEWERS: writeIds(out, c.getEvaluatorIds()); break;
+            default: break; // Deletes carry only the key
+        }
+        return out.toByteArray();
+    }
+
+    public static Change decodeChange(byte[] data) throws IOException {
+        Input in = new Input(ByteBuffer.wrap(data), null);
+        int version = in.readVarInt();
+        if (version < OLDEST_READABLE_VERSION || version > FORMAT_VERSION) throw new IOException("Unsupported journal record version " + version);
+        in.version = version;
+        Change.Op op = Change.Op.values()[in.readVarInt()];
+        long seq = in.readVarLong();
+        String key = in.readString();
+        Change c;
+        switch (op) {
+            case ADD_USER: c = Change.addUser(readUser(in)); break;
+            case DELETE_USER: c = Change.deleteUser(key); break;
+            case REGISTER_PRESENTATION: c = Change.registerPresentation(readPresentation(in)); break;
+            case ADD_EVALUATION: c = Change.addEvaluation(key, readEvaluation(in)); break;
+            case UPDATE_VOTES: c = Change.updateVotes(key, unZigZag(in.readVarInt())); break;
+            case CREATE_SESSION: c = Change.createSession(readSession(in)); break;
+            case DELETE_SESSION: c = Change.deleteSession(key); break;
+            case ASSIGN_SESSION: c = Change.assignToSession(key, readIds(in), readIds(in)); break;
+            case ASSIGN_REVIEWERS: c = Change.assignReviewers(key, readIds(in)); break;
+            default: throw new IOException("Unknown journal op " + op);
+        }
+        c.setSeq(seq);
+        return c;
+    }
+
+    // --- Entity Writers / Readers ---
+    private static void writeUser(Output out, User u) {
+        out.writeVarInt(u instanceof Coordinator ? ROLE_COORDINATOR : u instanceof Evaluator ? ROLE_EVALUATOR : ROLE_STUDENT);
+        out.writeString(u.getId());
+        out.writeString(u.getUsername());
+        out.writeString(u.getPassword());
+    }
+
+    private static User readUser(Input in) throws IOException {
+        int role = in.readVarInt();
+        String id = in.readString(), name = in.readString(), pass = in.readString();
+        switch (role) {
+            case ROLE_COORDINATOR: return new Coordinator(id, name, pass);
+            case ROLE_EVALUATOR: return new Evaluator(id, name, pass);
+            case ROLE_STUDENT: return new Student(id, name, pass);
+            default: throw new IOException("Unknown user role " + role);
+        }
+    }
+
+    private static void writePresentation(Output out, Presentation p) {
+        out.writeString(p.getStudentId());
+        out.writeString(p.getStudentName());
+        out.writeString(p.getTitle());
+        if (!writeTextRef(out, p.getAbstractRef())) out.writeString(p.getAbstractText());
+        out.writeString(p.getSupervisor());
+        out.writeString(p.getType());
+        out.writeString(p.getFilePath());
+        out.writeString(p.getBoardId());
+        out.writeVarInt(zigZag(p.getAudienceVotes()));
+        List<Evaluation> evals = p.getEvaluations();
+        out.writeVarInt(evals.size());
+        for (Evaluation e : evals) writeEvaluation(out, e);
+        writeIds(out, p.getReviewerIds());
+    }
+
+    private static Presentation readPresentation(Input in) throws IOException {
+        String studentId = in.readString(), studentName = in.readString(), title = in.readString();
+        TextRef abstractRef = in.readTextRef();
+        String abstractText = abstractRef == null ? in.readString() : null;
+        Presentation p = new Presentation(studentId, studentName, title, abstractText,
+                                          in.readString(), in.readString(), in.readString());
+        if (abstractRef == null && in.texts != null) abstractRef = in.texts.store(abstractText);
+        if (abstractRef != null) p.setAbstractRef(abstractRef);
+        p.setBoardId(in.readString());
+        p.setAudienceVotes(unZigZag(in.readVarInt()));
+        int n = in.readVarInt();
+        for (int i = 0; i < n; i++) p.addEvaluation(readEvaluation(in));
+        if (in.version >= 2) p.setReviewerIds(readIds(in));
+        return p;
+    }
+
+    private static void writeEvaluation(Output out, Evaluation e) {
+        out.writeString(e.getEvaluatorId());
+        out.writeVarInt(e.getScore1());
+        out.writeVarInt(e.getScore2());
+        out.writeVarInt(e.getScore3());
+        out.writeVarInt(e.getScore4());
+        if (!writeTextRef(out, e.getCommentsRef())) out.writeString(e.getComments());
+    }
+
+    private static Evaluation readEvaluation(Input in) throws IOException {
+        String evaluatorId = in.readString();
+        int s1 = in.readVarInt(), s2 = in.readVarInt(), s3 = in.readVarInt(), s4 = in.readVarInt();
+        TextRef commentsRef = in.readTextRef();
+        if (commentsRef != null) return new Evaluation(evaluatorId, s1, s2, s3, s4, null).withCommentsRef(commentsRef);
+        Evaluation e = new Evaluation(evaluatorId, s1, s2, s3, s4, in.readString());
+        return in.texts != null ? in.texts.store(e) : e;
+    }
+
+    // Long text in a snapshot: writes its reference, or 0 and returns false so the caller
+    // writes the text itself. Journal records (no string table) always get the text.
+    private static boolean writeTextRef(Output out, TextRef ref) {
+        if (out.table == null) return false;
+        if (!(ref instanceof TextStore.Ref)) {
+            out.writeVarLong(0);
+            return false;
+        }
+        TextStore.Ref stored = (TextStore.Ref) ref;
+        out.writeVarLong(stored.offset + 1);
+        out.writeVarInt(stored.length);
+        return true;
+    }
+
+    private static void writeSession(Output out, SeminarSession s) {
+        out.writeString(s.getSessionId());
+        out.writeString(s.getDate());
+        out.writeString(s.getTime());
+        out.writeString(s.getVenue());
+        out.writeString(s.getType());
+        writeIds(out, s.getEvaluatorIds());
+        writeIds(out, s.getStudentIds());
+    }
+
+    private static SeminarSession readSession(Input in) throws IOException {
+        SeminarSession s = new SeminarSession(in.readString(), in.readString(), in.readString(), in.readString(), in.readString());
+        s.setAssignments(readIds(in), readIds(in));
+        return s;
+    }
+
+    private static void writeIds(Output out, List<String> ids) {
+        out.writeVarInt(ids.size());
+        for (String id : ids) out.writeString(id);
+    }
+
+    private static List<String> readIds(Input in) throws IOException {
+        int n = in.readVarInt();
+        List<String> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) ids.add(in.readString());
+        return ids;
+    }
+
+    private static int zigZag(int v) { return (v << 1) ^ (v >> 31); }
+    private static int unZigZag(int v) { return (v >>> 1) ^ -(v & 1); }
+
+    // --- Low-level Output ---
+    // With a table: strings become references (0 = null, n = table entry n-1).
+    // Without: strings are inline UTF-8 (length 0 = null, n = n-1 bytes follow).
+    private static class Output extends ByteArrayOutputStream {
+        final Map<String, Integer> table;
+        final List<String> tableOrder = new ArrayList<>();
+
+        Output(Map<String, Integer> table) { super(256); this.table = table; }
+
+        void writeVarInt(int v) {
+            while ((v & ~0x7F) != 0) { write((v & 0x7F) | 0x80); v >>>= 7; }
+            write(v);
+        }
+
+        void writeVarLong(long v) {
+            while ((v & ~0x7FL) != 0) { write((int) ((v & 0x7F) | 0x80)); v >>>= 7; }
+            write((int) v);
+        }
+
+        void writeInt(int v) {
+            write(v >>> 24); write(v >>> 16); write(v >>> 8); write(v);
+        }
+
+        void writeString(String s) {
+            if (s == null) { writeVarInt(0); return; }
+            if (table != null) {
+                Integer ref = table.get(s);
+                if (ref == null) {
+                    ref = tableOrder.size();
+                    table.put(s, ref);
+                    tableOrder.add(s);
+                }
+                writeVarInt(ref + 1);
+            } else {
+                byte[] utf = s.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(utf.length + 1);
+                writeBytes(utf);
+            }
+        }
+    }
+
+    // --- Low-level Input ---
+    private static class Input {
+        final ByteBuffer buf;
+        String[] table;
+        int version = FORMAT_VERSION; // Layout of the file or record being read
+        TextStore texts;              // Where long text goes (null = keep it in memory)
+
+        Input(ByteBuffer buf, String[] table) { this.buf = buf; this.table = table; }
+
+        int readInt() throws IOException {
+            try { return buf.getInt(); } catch (RuntimeException e) { throw new EOFException("Truncated data"); }
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (!buf.hasRemaining()) throw new EOFException("Truncated data");
+                byte b = buf.get();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        // Counterpart of writeTextRef (null = the text itself follows)
+        TextRef readTextRef() throws IOException {
+            if (table == null || version < 3) return null;
+            long n = readVarLong();
+            if (n == 0) return null;
+            int length = readVarInt();
+            if (texts == null) throw new IOException("Data file refers to a text store that was not opened");
+            return texts.ref(n - 1, length);
+        }
+
+        String readString() throws IOException {
+            int n = readVarInt();
+            if (n == 0) return null;
+            if (table != null) {
+                if (n > table.length) throw new IOException("Bad string reference " + n);
+                return table[n - 1];
+            }
+            if (n - 1 > buf.remaining()) throw new EOFException("Truncated data");
+            byte[] utf = new byte[n - 1];
+            buf.get(utf);
+            return new String(utf, StandardCharsets.UTF_8);
+        }
+    }
+
+    // --- One-shot Converter ---
+    // Reads a legacy Java-serialized data file (users, presentations, sessions[, lastSeq])
+    @SuppressWarnings("unchecked")
+    public static Snapshot readLegacy(File f) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            List<User> users = (List<User>) ois.readObject();
+            List<Presentation> presentations = (List<Presentation>) ois.readObject();
+            List<SeminarSession> sessions = (List<SeminarSession>) ois.readObject();
+            long lastSeq = 0;
+            try { lastSeq = (Long) ois.readObject(); } catch (EOFException old) { /* Written before the journal existed */ }
+            return new Snapshot(users, presentations, sessions, lastSeq, 0, 0);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Legacy data file references unknown class", e);
+        }
+    }
+
+    // Usage: java SeminarCodec [seminar_data.ser] [seminar_data.bin]
+    public static void main(String[] args) throws IOException {
+        Path src = Paths.get(args.length > 0 ? args[0] : "seminar_data.ser");
+        Path dst = Paths.get(args.length > 1 ? args[1] : "seminar_data.bin");
+        byte[] converted = encodeSnapshot(readLegacy(src.toFile()));
+        java.nio.file.Files.write(dst, converted);
+        System.out.println("Converted " + src + " (" + java.nio.file.Files.size(src) + " bytes) -> "
+                           + dst + " (" + converted.length + " bytes)");
+    }
+}
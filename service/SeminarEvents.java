@@ -0,0 +1,41 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder Events
+// Show up under "Seminar" in JDK Mission Control when the application runs with
+// -XX:StartFlightRecording. While no recording is active, begin() and commit()
+// cost next to nothing.
+public class SeminarEvents {
+    private SeminarEvents() {}
+
+    // Disk work: journal group commits, snapshots, the startup load and vote ledger saves
+    @Name("seminar.Persistence")
+    @Label("Persistence")
+    @Category("Seminar")
+    public static class Persistence extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        @Label("Records")
+        public long records;
+    }
+
+    // A generated report or export file
+    @Name("seminar.Report")
+    @Label("Report")
+    @Category("Seminar")
+    public static class Report extends Event {
+        @Label("Report")
+        public String report;
+
+        @Label("Rows")
+        public long rows;
+    }
+}
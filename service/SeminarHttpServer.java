@@ -0,0 +1,426 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Headless HTTP Front End
+// Serves the SeminarManager over the JDK's built-in HttpServer so many evaluators
+// can work against one shared, authoritative in-memory model at the same time.
+// The manager is already safe for concurrent callers, so handlers call it directly.
+//
+// Listens on the loopback interface only, unless started with listenOnAll (other machines
+// can then reach it, so only do that on a trusted network).
+//
+// Requests take form-encoded parameters (query string or POST body); replies are JSON.
+// Log in first, then send the returned token as "Authorization: Bearer <token>".
+// A token lapses after TOKEN_IDLE_MS without use, or at logout.
+//   POST /login          id, role, password                            -> token
+//   POST /logout         ends the token's session
+//   GET  /presentations  Student: own; Evaluator: assigned; Coordinator: all
+//   POST /presentations  (Student) title, abstract, supervisor, type, filePath
+//   POST /evaluations    (Evaluator) studentId, clarity, methodology, results, presentation, comments
+//   POST /votes          (Coordinator) studentId, votes   (sets the count)
+//   POST /vote           studentId                          (audience vote as the logged-in user, once each)
+//   GET  /vote           studentId                          -> current count
+//   GET  /leaderboard    board (Oral, Poster or Votes), k (default 10)   -> ranked entries
+//                        normalized=true ranks Oral/Poster by average z-score (evaluator bias removed)
+//   GET  /reports/final  (Coordinator) Final Evaluation Report as text
+//   GET  /diagnostics    (Coordinator) operation timings, counters and sizes as text
+// Changes are acknowledged only once they are on disk; the journal's group commit
+// lets concurrent requests share one fsync.
+public class SeminarHttpServer {
+    private static final int MAX_WORKERS = 256; // Platform-thread pool size when virtual threads are unavailable
+
+    private final SeminarManager manager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private static final long TOKEN_IDLE_MS = 2 * 60 * 60 * 1000L; // 2 hours
+    private static final long SWEEP_MS = 60 * 1000L;                // Lapsed tokens are dropped at most this often
+
+    private final Map<String, Login> sessions = new ConcurrentHashMap<>(); // Token -> login
+    private final SecureRandom random = new SecureRandom();
+    private volatile long lastSweep;
+
+    // One issued token
+    private static class Login {
+        final String userId;
+        volatile long lastUsed;
+
+        Login(String userId, long now) {
+            this.userId = userId;
+            this.lastUsed = now;
+        }
+
+        boolean lapsed(long now) { return now - lastUsed > TOKEN_IDLE_MS; }
+    }
+
+    // Thrown by handlers to answer with an error status
+    private static class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L; // Never serialized; RuntimeException is Serializable
+        final int status;
+        HttpError(int status, String message) { super(message); this.status = status; }
+    }
+
+    private interface Endpoint {
+        void handle(HttpExchange ex, Map<String, String> params) throws IOException;
+    }
+
+    public SeminarHttpServer(SeminarManager manager, int port) throws IOException {
+        this(manager, port, false);
+    }
+
+    public SeminarHttpServer(SeminarManager manager, int port, boolean listenOnAll) throws IOException {
+        this.manager = manager;
+        InetSocketAddress address = listenOnAll ? new InetSocketAddress(port) : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        this.server = HttpServer.create(address, 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/login", route("/login", this::login));
+        server.createContext("/logout", route("/logout", this::logout));
+        server.createContext("/presentations", route("/presentations", this::presentations));
+        server.createContext("/evaluations", route("/evaluations", this::evaluations));
+        server.createContext("/votes", route("/votes", this::votes));
+        server.createContext("/vote", route("/vote", this::vote));
+        server.createContext("/leaderboard", route("/leaderboard", this::leaderboard));
+        server.createContext("/reports/final", route("/reports/final", this::finalReport));
+        server.createContext("/diagnostics", route("/diagnostics", this::diagnostics));
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Seminar HTTP service listening on " + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort());
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+
+    // Stops accepting requests, lets running ones finish, then flushes the data
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try { executor.awaitTermination(5, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        manager.shutdown();
+    }
+
+    // Runs until the process is stopped (Ctrl+C flushes pending changes)
+    public static void run(SeminarManager manager, int port, boolean listenOnAll) throws IOException {
+        SeminarHttpServer http = new SeminarHttpServer(manager, port, listenOnAll);
+        Runtime.getRuntime().addShutdownHook(new Thread(http::stop, "http-shutdown"));
+        http.start();
+    }
+
+    // One virtual thread per request on Java 21+; a bounded platform-thread pool otherwise.
+    // Handlers mostly wait for the journal's fsync, so the pool is sized well above the core count.
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(MAX_WORKERS);
+        }
+    }
+
+    // --- Endpoints ---
+    private void login(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "POST");
+        User u = manager.login(param(params, "id"), param(params, "role"));
+        param(params, "password"); // Required; compared untrimmed below
+        // Same reply for an unknown ID and a wrong password, so IDs can't be probed
+        if (u == null || !passwordMatches(u, params.get("password"))) throw new HttpError(401, "Wrong user ID, role or password");
+
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) token.append(String.format("%02x", b));
+        long now = System.currentTimeMillis();
+        sweepLapsed(now);
+        sessions.put(token.toString(), new Login(u.getId(), now));
+        sendJson(ex, 200, "{\"token\":" + quote(token.toString()) + ",\"id\":" + quote(u.getId())
+            + ",\"name\":" + quote(u.getUsername()) + ",\"role\":" + quote(u.getClass().getSimpleName()) + "}");
+    }
+
+    private void logout(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "POST");
+        authenticate(ex);
+        sessions.remove(bearerToken(ex));
+        sendJson(ex, 200, "{\"loggedOut\":true}");
+    }
+
+    // Tokens nobody logs out of would otherwise pile up; one pass a minute keeps the map to live logins
+    private void sweepLapsed(long now) {
+        if (now - lastSweep < SWEEP_MS) return;
+        lastSweep = now;
+        sessions.values().removeIf(login -> login.lapsed(now));
+    }
+
+    private void presentations(HttpExchange ex, Map<String, String> params) throws IOException {
+        User u = authenticate(ex);
+        if (ex.getRequestMethod().equals("GET")) {
+            Collection<Presentation> list;
+            if (u instanceof Coordinator) list = manager.snapshot().getAllPresentations(); // Consistent listing
+            else if (u instanceof Evaluator) list = manager.getAssignedPresentations(u.getId());
+            else {
+                Presentation own = manager.getPresentationByStudent(u.getId());
+                list = own == null ? List.of() : List.of(own);
+            }
+            StringBuilder json = new StringBuilder("[");
+            for (Presentation p : list) {
+                if (json.length() > 1) json.append(',');
+                appendPresentation(json, p, u);
+            }
+            sendJson(ex, 200, json.append(']').toString());
+            return;
+        }
+        requireMethod(ex, "POST");
+        requireRole(u, Student.class);
+        PresentationType type = PresentationType.fromLabel(param(params, "type"));
+        if (type == null) throw new HttpError(400, "type must be Oral or Poster");
+        // Same fields and checks as the Student registration form
+        Presentation p = new Presentation(u.getId(), u.getUsername(), param(params, "title"),
+            params.getOrDefault("abstract", ""), param(params, "supervisor"), type.getLabel(), params.getOrDefault("filePath", ""));
+        manager.registerPresentation(p);
+        manager.flush();
+        sendJson(ex, 201, "{\"studentId\":" + quote(p.getStudentId()) + "}");
+    }
+
+    private void evaluations(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "POST");
+        User u = authenticate(ex);
+        requireRole(u, Evaluator.class);
+        String studentId = param(params, "studentId");
+        if (!manager.isAssigned(u.getId(), studentId)) throw new HttpError(403, "Presentation " + studentId + " is not assigned to you");
+
+        Evaluation e = new Evaluation(u.getId(), score(params, "clarity"), score(params, "methodology"),
+            score(params, "results"), score(params, "presentation"), params.getOrDefault("comments", ""));
+        manager.addEvaluation(studentId, e);
+        manager.flush();
+        sendJson(ex, 200, "{\"studentId\":" + quote(studentId) + ",\"total\":" + e.getTotal() + "}");
+    }
+
+    private void votes(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "POST");
+        requireRole(authenticate(ex), Coordinator.class);
+        String studentId = param(params, "studentId");
+        if (manager.getPresentationByStudent(studentId) == null) throw new HttpError(404, "No presentation for student " + studentId);
+        int votes = number(params, "votes");
+        if (votes < 0) throw new HttpError(400, "votes must not be negative");
+        manager.updateVotes(studentId, votes);
+        manager.flush();
+        sendJson(ex, 200, "{\"studentId\":" + quote(studentId) + ",\"votes\":" + votes + "}");
+    }
+
+    // People's Choice: counted in memory, persisted by the manager's periodic vote flush.
+    // The voter is whoever the token was issued to, so nobody can vote again under another ID.
+    private void vote(HttpExchange ex, Map<String, String> params) throws IOException {
+        String studentId = param(params, "studentId");
+        if (ex.getRequestMethod().equals("POST")) {
+            User voter = authenticate(ex);
+            SeminarManager.VoteResult result = manager.castVote(voter.getId(), studentId);
+            if (result == SeminarManager.VoteResult.NO_PRESENTATION) throw new HttpError(404, "No presentation for student " + studentId);
+            if (result == SeminarManager.VoteResult.ALREADY_VOTED) throw new HttpError(409, "You have already voted for this presentation");
+        } else {
+            requireMethod(ex, "GET");
+            if (manager.getPresentationByStudent(studentId) == null) throw new HttpError(404, "No presentation for student " + studentId);
+        }
+        sendJson(ex, 200, "{\"studentId\":" + quote(studentId) + ",\"votes\":" + manager.getVotes(studentId) + "}");
+    }
+
+    // Live award board; cheap enough to poll (top k only, no scan)
+    private void leaderboard(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "GET");
+        String board = param(params, "board");
+        int k = params.containsKey("k") ? number(params, "k") : 10;
+        if (k < 1) throw new HttpError(400, "k must be at least 1");
+        boolean normalized = "true".equalsIgnoreCase(params.get("normalized"));
+        List<Leaderboard.Entry> top = board.equalsIgnoreCase("Votes") ? manager.getTopVoted(k)
+            : normalized ? manager.getTopNormalized(PresentationType.fromLabel(board), k)
+            : manager.getTopPresentations(PresentationType.fromLabel(board), k);
+
+        StringBuilder json = new StringBuilder("[");
+        for (Leaderboard.Entry e : top) {
+            if (json.length() > 1) json.append(',');
+            json.append("{\"studentId\":").append(quote(e.getStudentId()))
+                .append(",\"studentName\":").append(quote(e.getPresentation().getStudentName()))
+                .append(",\"title\":").append(quote(e.getPresentation().getTitle()))
+                .append(",\"score\":").append(String.format("%.2f", e.getScore()))
+                .append(",\"evaluations\":").append(e.getEvaluations()).append('}');
+        }
+        sendJson(ex, 200, json.append(']').toString());
+    }
+
+    private void finalReport(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "GET");
+        requireRole(authenticate(ex), Coordinator.class);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(200, 0); // Chunked: the report is streamed as it is written
+        try (Writer out = new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8)) {
+            new ReportExporter(manager).writeFinalReport(out);
+        }
+    }
+
+    private void diagnostics(HttpExchange ex, Map<String, String> params) throws IOException {
+        requireMethod(ex, "GET");
+        requireRole(authenticate(ex), Coordinator.class);
+        byte[] body = manager.getMetrics().report().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) { out.write(body); }
+    }
+
+    private void appendPresentation(StringBuilder json, Presentation p, User viewer) {
+        json.append("{\"studentId\":").append(quote(p.getStudentId()))
+            .append(",\"studentName\":").append(quote(p.getStudentName()))
+            .append(",\"title\":").append(quote(p.getTitle()))
+            .append(",\"type\":").append(quote(p.getType()))
+            .append(",\"supervisor\":").append(quote(p.getSupervisor()))
+            .append(",\"abstract\":").append(quote(p.getAbstractText()))
+            .append(",\"boardId\":").append(quote(p.getBoardId()));
+        if (viewer instanceof Evaluator) json.append(",\"graded\":").append(p.isGradedBy(viewer.getId()));
+        if (viewer instanceof Coordinator) {
+            ScoreAggregate scores = p.getScores();
+            json.append(",\"evaluations\":").append(scores.getCount())
+                .append(",\"average\":").append(String.format("%.2f", scores.getAverage()))
+                .append(",\"votes\":").append(manager.getVotes(p.getStudentId()));
+        }
+        json.append('}');
+    }
+
+    // --- Request Plumbing ---
+    // Every request is timed per path ("http /login", ...), errors included
+    private HttpHandler route(String path, Endpoint endpoint) {
+        Metrics.Timer timer = manager.getMetrics().timer("http " + path);
+        return ex -> {
+            long t0 = System.nanoTime();
+            try {
+                endpoint.handle(ex, readParams(ex));
+            } catch (HttpError e) {
+                if (ex.getResponseCode() == -1) sendJson(ex, e.status, "{\"error\":" + quote(e.getMessage()) + "}");
+            } catch (Exception e) {
+                e.printStackTrace();
+                // A streaming handler may have sent its headers already; then closing cuts the reply short
+                if (ex.getResponseCode() == -1) sendJson(ex, 500, "{\"error\":" + quote(String.valueOf(e.getMessage())) + "}");
+            } finally {
+                ex.close();
+                timer.record(t0);
+            }
+        };
+    }
+
+    private User authenticate(HttpExchange ex) {
+        String token = bearerToken(ex);
+        Login login = token == null ? null : sessions.get(token);
+        long now = System.currentTimeMillis();
+        if (login != null && login.lapsed(now)) {
+            sessions.remove(token);
+            throw new HttpError(401, "Session expired; log in again");
+        }
+        User u = login == null ? null : manager.getUser(login.userId); // Null once the user has been removed
+        if (u == null) throw new HttpError(401, "Log in first");
+        login.lastUsed = now;
+        return u;
+    }
+
+    // Compares in constant time, so response timing gives nothing away
+    private static boolean passwordMatches(User u, String password) {
+        if (u.getPassword() == null) return false;
+        return MessageDigest.isEqual(u.getPassword().getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String bearerToken(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        return (header != null && header.startsWith("Bearer ")) ? header.substring(7).trim() : null;
+    }
+
+    private static void requireRole(User u, Class<? extends User> role) {
+        if (!role.isInstance(u)) throw new HttpError(403, "Only a " + role.getSimpleName() + " may do this");
+    }
+
+    private static void requireMethod(HttpExchange ex, String method) {
+        if (!ex.getRequestMethod().equals(method)) throw new HttpError(405, method + " required");
+    }
+
+    private static String param(Map<String, String> params, String name) {
+        String v = params.get(name);
+        if (v == null || v.trim().isEmpty()) throw new HttpError(400, "Missing parameter: " + name);
+        return v.trim();
+    }
+
+    private static int number(Map<String, String> params, String name) {
+        try {
+            return Integer.parseInt(param(params, name));
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, name + " must be a whole number");
+        }
+    }
+
+    // Rubric scores use the same 1-5 range as the evaluator sliders
+    private static int score(Map<String, String> params, String name) {
+        int v = number(params, name);
+        if (v < 1 || v > 5) throw new HttpError(400, name + " must be between 1 and 5");
+        return v;
+    }
+
+    private static Map<String, String> readParams(HttpExchange ex) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(ex.getRequestURI().getRawQuery(), params);
+        if (ex.getRequestMethod().equals("POST")) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = ex.getRequestBody()) { in.transferTo(body); }
+            parseForm(body.toString(StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> into) {
+        if (form == null || form.isEmpty()) return;
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            into.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void sendJson(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) { out.write(body); }
+    }
+
+    private static String quote(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -1,157 +1,861 @@
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
 
 // Central Service Class for Seminar Management
 // Handles Users, Presentations, Sessions, and Persistence
+//
+// Thread safety: all reads are lock-free. Structural changes (users, registrations,
+// sessions) are serialized by structureLock. Evaluations and votes only lock the
+// stripe of their student ID, so evaluators scoring different presentations
+// never wait for each other. A bulk import takes every stripe (in index order)
+// so its whole batch lands in memory and in the journal as one step.
 
 public class SeminarManager {
-    // In-memory database
-    private List<User> users;
-    private List<Presentation> presentations;
-    private List<SeminarSession> sessions;
-    private final String DATA_FILE = "seminar_data.ser"; // The file where data is stored
+    // In-memory database (insertion-ordered, keyed for O(1) lookups)
+    private final OrderedIndex<User> users = new OrderedIndex<>();                 // Key: lower-case User ID
+    private final OrderedIndex<Presentation> presentations = new OrderedIndex<>(); // Key: Student ID
+    private final OrderedIndex<SeminarSession> sessions = new OrderedIndex<>();    // Key: Session ID
+
+    // Secondary indexes, kept in step with the maps above by apply()
+    private final Map<Class<?>, OrderedIndex<User>> usersByRole = new ConcurrentHashMap<>();  // Key: concrete User class
+    private final Map<String, List<Presentation>> presentationsByName = new ConcurrentHashMap<>(); // Key: Student Name
+    private final Map<String, Set<String>> sessionsByEvaluator = new ConcurrentHashMap<>(); // Evaluator ID -> Session IDs
+    private final IntervalIndex venueBookings = new IntervalIndex();     // Venue -> timed sessions held there
+    private final IntervalIndex evaluatorBookings = new IntervalIndex(); // Evaluator ID -> timed sessions they sit in
+
+    // Immutable view of everything above, replaced (never changed) by every write; see SeminarSnapshot
+    private final AtomicReference<SeminarSnapshot> published = new AtomicReference<>(SeminarSnapshot.EMPTY);
+    private SeminarSnapshot pendingSnapshot; // Built up by commitBatch and published once, when the batch (or structural change) is complete
+
+    // Award rankings, re-ranked by apply() whenever a score or vote count changes
+    private final Map<PresentationType, Leaderboard> scoreBoards = new EnumMap<>(PresentationType.class); // Average score; one per type, created up front
+    private final Leaderboard voteBoard = new Leaderboard();                       // People's Choice (persisted votes)
+
+    // Per-evaluator running mean / variance, and the normalized (z-score) award rankings worked out from them
+    private final ScoreNormalizer normalizer = new ScoreNormalizer();
+
+    // Every current evaluation's scores in primitive columns, for analytics scans
+    private final ScoreColumns scoreColumns = new ScoreColumns();
+
+    // Live People's Choice counts, created on a presentation's first live vote (Key: Student ID)
+    private static final long VOTE_FLUSH_MS = 1000;
+    private final Map<String, VoteCounter> liveVotes = new ConcurrentHashMap<>();
+    private final VoteLedger voteLedger = new VoteLedger(); // Who already voted for what
+    private final Object voteFlushLock = new Object();
+    private final ScheduledExecutorService voteFlusher;
+
+    public enum VoteResult { COUNTED, ALREADY_VOTED, NO_PRESENTATION }
+
+    // Instrumentation (see Metrics; shown in the diagnostics panel and GET /diagnostics)
+    private final Metrics metrics = new Metrics();
+    private final Metrics.Timer loginTimer = metrics.timer("login");
+    private final Metrics.Timer registerTimer = metrics.timer("registerPresentation");
+    private final Metrics.Timer evaluationTimer = metrics.timer("addEvaluation");
+    private final Metrics.Timer importTimer = metrics.timer("importData");
+    private final Metrics.Timer loadTimer = metrics.timer("loadData");
+    private final Metrics.Timer voteFlushTimer = metrics.timer("votes.flush");
+    private final Metrics.Counter votesCounted = metrics.counter("votes.counted");
+    private final Metrics.Counter votesRejected = metrics.counter("votes.duplicate");
+
+    // Locks (always taken in this order: structureLock, then stripes in index order)
+    private static final int STRIPES = 64;
+    private final Object structureLock = new Object();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final String DATA_FILE;        // The file where data is stored (seminar_data.bin)
+    private final String LEGACY_DATA_FILE; // Java-serialized format, converted on first load (seminar_data.ser)
+    private final String JOURNAL_FILE;     // Changes made since the last snapshot (seminar_data.journal)
+    private final String VOTES_FILE;       // Vote ledger for live voting (seminar_data.votes)
+    private final String TEXT_FILE;        // Long abstracts and comments (seminar_data.text)
+    private final ChangeJournal journal;
+    private final TextStore texts;
+    private volatile long dataVersion; // Bumped whenever users, presentations or sessions are added, removed or reassigned
 
     public SeminarManager() {
-        users = new ArrayList<>();
-        presentations = new ArrayList<>();
-        sessions = new ArrayList<>();
+        this("."); // Data files in the working directory
+    }
+
+    // Keeps the data files in the given directory (used by tools and benchmarks)
+    public SeminarManager(String dataDir) {
+        DATA_FILE = new File(dataDir, "seminar_data.bin").getPath();
+        LEGACY_DATA_FILE = new File(dataDir, "seminar_data.ser").getPath();
+        JOURNAL_FILE = new File(dataDir, "seminar_data.journal").getPath();
+        VOTES_FILE = new File(dataDir, "seminar_data.votes").getPath();
+        TEXT_FILE = new File(dataDir, "seminar_data.text").getPath();
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+        for (PresentationType t : PresentationType.values()) scoreBoards.put(t, new Leaderboard());
+        texts = new TextStore(TEXT_FILE, SeminarCodec.readTextGeneration(new File(DATA_FILE)), metrics);
+        journal = new ChangeJournal(JOURNAL_FILE, DATA_FILE, this::encodeSnapshot, metrics);
         loadData(); // Load existing data from file
         if(users.isEmpty()) seedData(); // Create some default data if none exists
+        try {
+            voteLedger.load(new File(VOTES_FILE));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        voteFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vote-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        voteFlusher.scheduleWithFixedDelay(this::flushVotes, VOTE_FLUSH_MS, VOTE_FLUSH_MS, TimeUnit.MILLISECONDS);
+
+        metrics.gauge("users", users::size);
+        metrics.gauge("presentations", presentations::size);
+        metrics.gauge("sessions", sessions::size);
+        metrics.gauge("evaluators.withSessions", sessionsByEvaluator::size);
+        metrics.gauge("votes.liveCounters", liveVotes::size);
+        metrics.gauge("votes.voters", voteLedger::getVoterCount);
+        metrics.gauge("leaderboard.votes", voteBoard::size);
+        metrics.gauge("dataVersion", () -> dataVersion);
+        metrics.gauge("interned.strings", Interner::size);
+        metrics.gauge("scores.rows", scoreColumns::size);
+        metrics.gauge("scores.evaluators", normalizer::getEvaluatorCount);
     }
 
+    public Metrics getMetrics() { return metrics; }
+
     // --- Core Authentication Logic ---
     public User login(String id, String role) {
+        long t0 = System.nanoTime();
         // Simple authentication based on ID and role
-        return users.stream()
-            .filter(u -> u.getId().equals(id) && u.getClass().getSimpleName().equals(role))
-            .findFirst().orElse(null);
+        User u = getUser(id);
+        User result = (u != null && u.getId().equals(id) && u.getClass().getSimpleName().equals(role)) ? u : null;
+        loginTimer.record(t0);
+        return result;
     }
 
     // --- Presentation Management ---
     public void registerPresentation(Presentation p) {
-        // Remove existing presentation by the same student (if any)
-        presentations.removeIf(exist -> exist.getStudentId().equals(p.getStudentId()));
-        presentations.add(p);
-        saveData(); // Commit changes
+        long t0 = System.nanoTime();
+        commit(Change.registerPresentation(p));
+        registerTimer.record(t0);
     }
 
     // --- Seminar Session Management ---
+    // Rejects a session that would share its venue with another session at the same time
     public void createSession(SeminarSession s) {
-        sessions.add(s);
-        saveData();
+        synchronized (structureLock) {
+            checkVenue(s);
+            commitStructural(Change.createSession(s));
+        }
     }
     
     // Delete Session
     public void deleteSession(SeminarSession s) {
-        sessions.remove(s);
-        saveData();
+        commit(Change.deleteSession(s.getSessionId()));
     }
     
-    // Update People's Choice Votes
+    // Update People's Choice Votes (manual entry: replaces the live count and clears who has voted)
     public void updateVotes(String studentId, int votes) {
+        if(getPresentationByStudent(studentId) == null) return;
+        applyAndLogStriped(Change.overrideVotes(studentId, votes));
+    }
+
+    // --- Live Voting ---
+    // One vote per voter per presentation. Lock-free; totals reach the journal
+    // within VOTE_FLUSH_MS (or on flush/shutdown).
+    public VoteResult castVote(String voterId, String studentId) {
+        VoteCounter live = liveVotes.get(studentId);
+        if (live == null) {
+            Presentation p = getPresentationByStudent(studentId);
+            if (p == null) return VoteResult.NO_PRESENTATION;
+            live = liveVotes.computeIfAbsent(studentId, k -> new VoteCounter(p.getAudienceVotes()));
+        }
+        // Ledger before counter, so any total the flusher reads is covered by the ledger
+        if (!voteLedger.record(voterId, studentId)) {
+            votesRejected.increment();
+            return VoteResult.ALREADY_VOTED;
+        }
+        live.increment();
+        votesCounted.increment();
+        return VoteResult.COUNTED;
+    }
+
+    public boolean hasVoted(String voterId, String studentId) {
+        return voteLedger.hasVoted(voterId, studentId);
+    }
+
+    // Current count including votes not yet persisted
+    public int getVotes(String studentId) {
+        VoteCounter live = liveVotes.get(studentId);
+        if (live != null) return live.getTotal();
         Presentation p = getPresentationByStudent(studentId);
-        if(p != null) {
-            p.setAudienceVotes(votes);
-            saveData();
+        return p == null ? 0 : p.getAudienceVotes();
+    }
+
+    // Journal every live count that changed since its last flush (as an ordinary vote update).
+    // Totals are read first and the new ledger entries written before they are journaled, so after a crash
+    // every persisted vote has its voter on file and nobody can vote twice.
+    private void flushVotes() {
+        synchronized (voteFlushLock) {
+            long t0 = System.nanoTime();
+            try {
+                List<Map.Entry<String, VoteCounter>> changed = new ArrayList<>();
+                for (Map.Entry<String, VoteCounter> e : liveVotes.entrySet()) {
+                    if (e.getValue().capture()) changed.add(e);
+                }
+                voteLedger.saveIfChanged(new File(VOTES_FILE));
+
+                for (Map.Entry<String, VoteCounter> e : changed) {
+                    VoteCounter live = e.getValue();
+                    ReentrantLock lock = stripe(e.getKey());
+                    lock.lock();
+                    try {
+                        if (liveVotes.get(e.getKey()) != live) continue; // Presentation was re-registered
+                        if (!live.isCaptureCurrent()) continue;         // Count was overridden by hand
+                        applyAndLog(Change.updateVotes(e.getKey(), live.getCaptured()));
+                        live.markPersisted();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                if (!changed.isEmpty()) voteFlushTimer.record(t0); // Idle ticks would swamp the histogram
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace(); // Keep the scheduled flush alive
+            }
         }
     }
 
     // Assign Evaluators and Students to Session
     // If Poster Session, it automatically assign Board IDs
+    // Rejects evaluators who already sit in another session at the same time
     public void assignToSession(SeminarSession session, List<String> evalIds, List<String> studIds) {
-        // Update the session's evaluator and student lists
-        session.getEvaluatorIds().clear();
-        session.getEvaluatorIds().addAll(evalIds);
-        
-        session.getStudentIds().clear();
-        session.getStudentIds().addAll(studIds);
-        
-        // Assign Board IDs if Poster Session
-        if(session.getType().equals("Poster")) {
-            int count = 1;
-            for(String sId : studIds) {
-                Presentation p = getPresentationByStudent(sId);
-                // Assign Board ID like "B-01", "B-02", ...
-                if(p != null) p.setBoardId("B-" + String.format("%02d", count++));
+        synchronized (structureLock) {
+            checkEvaluators(session, evalIds);
+            commitStructural(Change.assignToSession(session.getSessionId(), evalIds, studIds));
+        }
+    }
+
+    // Creates every session of a timetable plan with its assignments, as one batch
+    public void applyTimetable(Timetabler.Plan plan) {
+        List<Change> changes = new ArrayList<>();
+        synchronized (structureLock) {
+            for (Timetabler.PlannedSession ps : plan.getSessions()) {
+                SeminarSession s = ps.getSession();
+                if (sessions.containsKey(s.getSessionId())) {
+                    throw new IllegalStateException("Session " + s.getSessionId() + " already exists; plan the timetable again");
+                }
+                checkVenue(s);
+                checkEvaluators(s, ps.getEvaluatorIds());
+                changes.add(Change.createSession(s));
+                changes.add(Change.assignToSession(s.getSessionId(), ps.getEvaluatorIds(), ps.getStudentIds()));
             }
+            if (!changes.isEmpty()) commitBatch(changes);
         }
-        saveData();
+        journal.flush();
+    }
+
+    // Stores the reviewers picked for each presentation, as one batch
+    public void applyReviewerAssignment(ReviewerAssigner.Result result) {
+        List<Change> changes = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : result.getReviewers().entrySet()) {
+            changes.add(Change.assignReviewers(e.getKey(), e.getValue()));
+        }
+        synchronized (structureLock) {
+            if (!changes.isEmpty()) commitBatch(changes);
+        }
+        journal.flush();
     }
 
     // --- Evaluation Logic ---
     public void addEvaluation(String studentId, Evaluation e) {
-        Presentation p = getPresentationByStudent(studentId);
-        if (p != null) {
-            // Remove existing evaluation by the same evaluator (update score)
-            p.getEvaluations().removeIf(old -> old.getEvaluatorId().equals(e.getEvaluatorId()));
-            p.addEvaluation(e);
-            saveData();
+        long t0 = System.nanoTime();
+        if (getPresentationByStudent(studentId) != null) {
+            commit(Change.addEvaluation(studentId, e));
         }
+        evaluationTimer.record(t0);
     }
 
     // ---- User Management Logic ---
     public void addUser(User newUser) {
-        // Check if ID already exists to prevent duplicates
-        if(users.stream().anyMatch(u -> u.getId().equalsIgnoreCase(newUser.getId()))) {
-            throw new IllegalArgumentException("User ID " + newUser.getId() + " already exists!");
+        synchronized (structureLock) {
+            // Check if ID already exists to prevent duplicates
+            if(users.containsKey(userKey(newUser.getId()))) {
+                throw new IllegalArgumentException("User ID " + newUser.getId() + " already exists!");
+            }
+            commit(Change.addUser(newUser)); // Journal immediately
         }
-        users.add(newUser);
-        saveData(); // Save to file immediately
     }
 
     public void deleteUser(String userId) {
-        users.removeIf(u -> u.getId().equals(userId));
-        saveData();
+        commit(Change.deleteUser(userId));
+    }
+
+    // --- Bulk Import ---
+    // Streams a CSV or JSON file (see BulkImporter for the columns), validates every
+    // row against the current data and applies the valid rows as a single batch:
+    // one lock acquisition, one journal write and one fsync for the whole file.
+    // Invalid rows are skipped and listed in the returned report.
+    public BulkImporter.Report importData(BulkImporter.Kind kind, Reader in) throws IOException {
+        return importData(kind, in, false);
+    }
+
+    // replaceExisting: presentation rows may re-register a student's presentation (dropping its evaluations and votes)
+    public BulkImporter.Report importData(BulkImporter.Kind kind, Reader in, boolean replaceExisting) throws IOException {
+        long t0 = System.nanoTime();
+        BulkImporter importer = new BulkImporter(this, kind);
+        importer.setReplaceExisting(replaceExisting);
+        synchronized (structureLock) {
+            List<Change> changes = importer.read(in);
+            if (!changes.isEmpty()) commitBatch(changes);
+        }
+        journal.flush(); // Report only what is safely on disk
+        importTimer.record(t0);
+        return importer.getReport();
     }
 
     // --- Data Access Helpers ---
-    public List<Presentation> getAllPresentations() { return presentations; }
-    public List<SeminarSession> getAllSessions() { return sessions; }
+    // Live read-only views in registration order (safe to iterate during updates)
+    public Collection<Presentation> getAllPresentations() { return presentations.values(); }
+    public Collection<SeminarSession> getAllSessions() { return sessions.values(); }
     
     public List<User> getUsersByRole(Class<?> role) {
-        return users.stream().filter(u -> role.isInstance(u)).collect(Collectors.toList());
+        OrderedIndex<User> byRole = usersByRole.get(role);
+        if (byRole != null) return new ArrayList<>(byRole.values()); // Concrete role: direct from index
+        List<User> result = new ArrayList<>();
+        for (User u : users.values()) if (role.isInstance(u)) result.add(u);
+        return result;
+    }
+
+    // User IDs are unique regardless of case
+    public User getUser(String id) {
+        return id == null ? null : users.get(userKey(id));
     }
+
     public Presentation getPresentationByStudent(String sId) {
-        return presentations.stream().filter(p -> p.getStudentId().equals(sId)).findFirst().orElse(null);
+        return presentations.get(sId);
     }
 
     public Presentation getPresentationByStudentName(String name) {
-        return presentations.stream()
-            .filter(p -> p.getStudentName().equals(name))
-            .findFirst().orElse(null);
+        List<Presentation> matches = presentationsByName.get(name);
+        return (matches == null || matches.isEmpty()) ? null : matches.get(0);
+    }
+
+    // --- Award Rankings ---
+    // Best k evaluated presentations of one type, by average score
+    public List<Leaderboard.Entry> getTopPresentations(PresentationType type, int k) {
+        Leaderboard board = type == null ? null : scoreBoards.get(type);
+        return board == null ? new ArrayList<>() : board.top(k);
+    }
+
+    // Best k evaluated presentations of one type, by average z-score: each evaluation measured against
+    // its evaluator's own mean and spread, so strict and lenient panels compare fairly
+    public List<Leaderboard.Entry> getTopNormalized(PresentationType type, int k) {
+        return type == null ? new ArrayList<>() : normalizer.top(presentations.values(), type, k);
+    }
+
+    // Running figures for one evaluator's totals (count 0 if they have not scored anything)
+    public ScoreNormalizer.Stats getEvaluatorStats(String evaluatorId) {
+        return normalizer.getStats(evaluatorId);
+    }
+
+    // Best k presentations by audience votes (live votes count once flushed)
+    public List<Leaderboard.Entry> getTopVoted(int k) {
+        return voteBoard.top(k);
+    }
+
+    // --- Schedule Queries ---
+    // Sessions held at this venue that overlap [start, end) (minutes since 1970), earliest first
+    public List<SeminarSession> getVenueBookings(String venue, long start, long end) {
+        return venueBookings.overlapping(venueKey(venue), start, end);
+    }
+
+    // Sessions this evaluator sits in that overlap [start, end), earliest first
+    public List<SeminarSession> getEvaluatorBookings(String evaluatorId, long start, long end) {
+        return evaluatorBookings.overlapping(evaluatorId, start, end);
+    }
+
+    // Every session in date and time order (untimed sessions last)
+    public List<SeminarSession> getSessionsInOrder() {
+        List<SeminarSession> result = new ArrayList<>(sessions.values());
+        result.sort(SeminarSession.CHRONOLOGICAL);
+        return result;
+    }
+
+    // Caller holds structureLock
+    private void checkVenue(SeminarSession s) {
+        if (!s.isTimed()) return; // Free-text times can't be checked
+        for (SeminarSession other : getVenueBookings(s.getVenue(), s.getStartMinute(), s.getEndMinute())) {
+            if (other.getSessionId().equals(s.getSessionId())) continue;
+            throw new IllegalStateException(s.getVenue().trim() + " is already booked by session " + other.getSessionId()
+                + " (" + other.getDate() + ", " + other.getTime() + ")");
+        }
+    }
+
+    // Caller holds structureLock
+    private void checkEvaluators(SeminarSession s, List<String> evalIds) {
+        if (!s.isTimed()) return;
+        for (String eId : evalIds) {
+            for (SeminarSession other : getEvaluatorBookings(eId, s.getStartMinute(), s.getEndMinute())) {
+                if (other.getSessionId().equals(s.getSessionId())) continue;
+                User u = getUser(eId);
+                throw new IllegalStateException((u != null ? u.getUsername() : eId) + " is already in session " + other.getSessionId()
+                    + " (" + other.getDate() + ", " + other.getTime() + ")");
+            }
+        }
+    }
+
+    // Venues are the same regardless of case and surrounding spaces ("Hall A" = "hall a "); shared with Timetabler
+    static String venueKey(String venue) { return venue.trim().toLowerCase(Locale.ROOT); }
+
+    // Consistent point-in-time view for exports, reports and planners (one volatile read, never blocks).
+    // Includes every change that has returned; unflushed live votes are not in it.
+    public SeminarSnapshot snapshot() { return published.get(); }
+
+    // Every current evaluation's scores as primitive columns (consistent copy, cached until the next change).
+    // Kept separately from the snapshot, so it may already include an evaluation that a snapshot taken just before does not
+    public ScoreColumns.View getScoreColumns() { return scoreColumns.view(); }
+
+    // Lets views skip re-listing when nothing structural changed (scores and votes don't count)
+    public long getDataVersion() { return dataVersion; }
+
+    public SeminarSession getSession(String sessionId) {
+        return sessions.get(sessionId);
     }
 
-    // --- Persistence (Save/Load)---
+    // Sessions this evaluator is assigned to, in order of assignment
+    public List<SeminarSession> getSessionsForEvaluator(String evaluatorId) {
+        List<SeminarSession> result = new ArrayList<>();
+        Set<String> ids = sessionsByEvaluator.get(evaluatorId);
+        if (ids == null) return result;
+        for (String sId : ids) {
+            SeminarSession s = sessions.get(sId);
+            if (s != null) result.add(s);
+        }
+        return result;
+    }
+
+    // Evaluator's worklist: every presentation in their sessions, except ones whose
+    // reviewers were picked (see ReviewerAssigner) and don't include this evaluator.
+    // Cost depends only on their own assignments, not on the size of the event
+    public List<Presentation> getAssignedPresentations(String evaluatorId) {
+        List<Presentation> result = new ArrayList<>();
+        for (SeminarSession s : getSessionsForEvaluator(evaluatorId)) {
+            for (String sId : s.getStudentIds()) {
+                Presentation p = presentations.get(sId);
+                if (p != null && isReviewer(p, evaluatorId)) result.add(p);
+            }
+        }
+        return result;
+    }
+
+    // True if the presentation is on the evaluator's worklist
+    public boolean isAssigned(String evaluatorId, String studentId) {
+        Presentation p = presentations.get(studentId);
+        if (p == null || !isReviewer(p, evaluatorId)) return false;
+        for (SeminarSession s : getSessionsForEvaluator(evaluatorId)) {
+            if (s.getStudentIds().contains(studentId)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isReviewer(Presentation p, String evaluatorId) {
+        List<String> reviewers = p.getReviewerIds();
+        return reviewers.isEmpty() || reviewers.contains(evaluatorId);
+    }
+
+    // User IDs are unique regardless of case; shared with SeminarSnapshot
+    static String userKey(String id) { return id.toLowerCase(Locale.ROOT); }
+
+    // --- Index Maintenance ---
+    private void putUser(User u) {
+        removeUser(u.getId());
+        users.put(userKey(u.getId()), u);
+        usersByRole.computeIfAbsent(u.getClass(), k -> new OrderedIndex<>()).put(userKey(u.getId()), u);
+        publish(snap -> snap.withUser(u));
+    }
+
+    private void removeUser(String id) {
+        User old = users.remove(userKey(id));
+        if (old == null) return;
+        usersByRole.get(old.getClass()).remove(userKey(id));
+        publish(snap -> snap.withoutUser(id));
+    }
+
+    private void putPresentation(Presentation p) {
+        // Remove existing presentation by the same student (if any)
+        removePresentation(p.getStudentId());
+        presentations.put(p.getStudentId(), p);
+        presentationsByName.computeIfAbsent(p.getStudentName(), k -> new CopyOnWriteArrayList<>()).add(p);
+        for (Evaluation e : p.getEvaluations()) {
+            scoreColumns.put(p.getStudentId(), e);
+            normalizer.add(e);
+        }
+        rank(p);
+        publish(snap -> snap.withPresentation(p));
+    }
+
+    private void removePresentation(String studentId) {
+        Presentation old = presentations.remove(studentId);
+        if (old == null) return;
+        publish(snap -> snap.withoutPresentation(studentId));
+        List<Presentation> sameName = presentationsByName.get(old.getStudentName());
+        sameName.remove(old);
+        if (sameName.isEmpty()) presentationsByName.remove(old.getStudentName());
+        if (old.getPresentationType() != null) scoreBoards.get(old.getPresentationType()).remove(studentId);
+        for (Evaluation e : old.getEvaluations()) normalizer.remove(e);
+        scoreColumns.removePresentation(studentId);
+        voteBoard.remove(studentId);
+    }
+
+    // Unscored presentations and ones without votes stay off the respective board.
+    // Vote ties go to the presentation with more evaluations, then the lower student ID.
+    private void rank(Presentation p) {
+        ScoreAggregate scores = p.getScores();
+        Leaderboard board = p.getPresentationType() == null ? null : scoreBoards.get(p.getPresentationType());
+        if (board != null) {
+            if (scores.getCount() > 0) board.update(p, scores.getAverage(), scores.getCount());
+            else board.remove(p.getStudentId());
+        }
+        if (p.getAudienceVotes() > 0) voteBoard.update(p, p.getAudienceVotes(), scores.getCount());
+        else voteBoard.remove(p.getStudentId());
+    }
+
+    private void putSession(SeminarSession s) {
+        removeSession(s.getSessionId());
+        sessions.put(s.getSessionId(), s);
+        venueBookings.add(venueKey(s.getVenue()), s);
+        indexEvaluators(s);
+        publish(snap -> snap.withSession(s));
+    }
+
+    private void removeSession(String sessionId) {
+        SeminarSession old = sessions.remove(sessionId);
+        if (old == null) return;
+        publish(snap -> snap.withoutSession(sessionId));
+        venueBookings.remove(venueKey(old.getVenue()), old);
+        unindexEvaluators(old);
+    }
+
+    private void indexEvaluators(SeminarSession s) {
+        for (String eId : s.getEvaluatorIds()) {
+            sessionsByEvaluator.computeIfAbsent(eId, k -> new CopyOnWriteArraySet<>()).add(s.getSessionId());
+            evaluatorBookings.add(eId, s);
+        }
+    }
+
+    private void unindexEvaluators(SeminarSession s) {
+        for (String eId : s.getEvaluatorIds()) {
+            evaluatorBookings.remove(eId, s);
+            Set<String> ids = sessionsByEvaluator.get(eId);
+            if (ids == null) continue;
+            ids.remove(s.getSessionId());
+            if (ids.isEmpty()) sessionsByEvaluator.remove(eId);
+        }
+    }
+
+    // Rebuild all maps and indexes from freshly loaded lists
+    private void rebuildIndexes(List<User> userList, List<Presentation> presList, List<SeminarSession> sessionList) {
+        users.clear(); usersByRole.clear();
+        presentations.clear(); presentationsByName.clear();
+        sessions.clear(); sessionsByEvaluator.clear();
+        venueBookings.clear(); evaluatorBookings.clear();
+        for (Leaderboard board : scoreBoards.values()) board.clear();
+        voteBoard.clear();
+        scoreColumns.clear();
+        normalizer.clear();
+        published.set(SeminarSnapshot.EMPTY);
+        for (User u : userList) putUser(u);
+        for (Presentation p : presList) putPresentation(p);
+        for (SeminarSession s : sessionList) putSession(s);
+    }
+
+    // --- Applying Changes ---
+    // Used both for live mutations and for replaying the journal on startup,
+    // so every branch must give the same result when run again from the journal.
+    private void apply(Change c) {
+        if (c.getOp() != Change.Op.ADD_EVALUATION && c.getOp() != Change.Op.UPDATE_VOTES) dataVersion++; // Under structureLock
+        switch (c.getOp()) {
+            case ADD_USER:
+                putUser((User) c.getPayload());
+                break;
+            case DELETE_USER:
+                removeUser(c.getKey());
+                break;
+            case REGISTER_PRESENTATION: {
+                Presentation p = (Presentation) c.getPayload();
+                TextRef abstractRef = texts.store(p.getAbstractText()); // Journal record still gets the text
+                if (abstractRef != null) p.setAbstractRef(abstractRef);
+                putPresentation(p);
+                liveVotes.remove(c.getKey()); // New registration starts from its own vote count
+                voteLedger.reset(c.getKey()); // ...and nobody has voted for it yet
+                break;
+            }
+            case ADD_EVALUATION: {
+                Presentation p = getPresentationByStudent(c.getKey());
+                // Replaces any existing evaluation by the same evaluator (update score)
+                if (p != null) {
+                    Evaluation e = texts.store((Evaluation) c.getPayload());
+                    normalizer.replace(p.addEvaluation(e), e);
+                    scoreColumns.put(p.getStudentId(), e);
+                    rank(p);
+                    publish(snap -> snap.withUpdatedPresentation(p));
+                }
+                break;
+            }
+            case UPDATE_VOTES: {
+                Presentation p = getPresentationByStudent(c.getKey());
+                if (p != null) {
+                    p.setAudienceVotes(c.getVotes());
+                    if (c.isOverride()) { // Count and ledger restart together, so they keep agreeing
+                        VoteCounter live = liveVotes.get(c.getKey());
+                        if (live != null) live.reset(c.getVotes());
+                        voteLedger.reset(c.getKey());
+                    }
+                    rank(p);
+                    publish(snap -> snap.withUpdatedPresentation(p));
+                }
+                break;
+            }
+            case CREATE_SESSION: {
+                putSession((SeminarSession) c.getPayload());
+                break;
+            }
+            case DELETE_SESSION:
+                removeSession(c.getKey());
+                break;
+            case ASSIGN_REVIEWERS: {
+                Presentation p = getPresentationByStudent(c.getKey());
+                if (p != null) {
+                    p.setReviewerIds(c.getEvaluatorIds());
+                    publish(snap -> snap.withUpdatedPresentation(p));
+                }
+                break;
+            }
+            case ASSIGN_SESSION: {
+                SeminarSession session = getSession(c.getKey());
+                if (session == null) break;
+                // Update the session's evaluator and student lists (and the evaluator index)
+                Set<String> affected = new LinkedHashSet<>(session.getStudentIds());
+                affected.addAll(c.getStudentIds());
+                unindexEvaluators(session);
+                session.setAssignments(c.getEvaluatorIds(), c.getStudentIds());
+                indexEvaluators(session);
+                publish(snap -> snap.withUpdatedSession(session));
+
+                // Reviewer picks were made from this session's evaluators; drop any that no longer
+                // hold (student moved out, or a picked reviewer left), or nobody could grade them
+                for (String sId : affected) {
+                    Presentation p = getPresentationByStudent(sId);
+                    if (p == null || p.getReviewerIds().isEmpty()) continue;
+                    if (session.getStudentIds().contains(sId) && session.getEvaluatorIds().containsAll(p.getReviewerIds())) continue;
+                    p.setReviewerIds(new ArrayList<>());
+                    publish(snap -> snap.withUpdatedPresentation(p));
+                }
+                
+                // Assign Board IDs if Poster Session
+                if(session.getPresentationType() == PresentationType.POSTER) {
+                    int count = 1;
+                    for(String sId : c.getStudentIds()) {
+                        Presentation p = getPresentationByStudent(sId);
+                        // Assign Board ID like "B-01", "B-02", ...
+                        if(p != null) {
+                            p.setBoardId("B-" + String.format("%02d", count++));
+                            publish(snap -> snap.withUpdatedPresentation(p));
+                        }
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    // Apply a change in memory and queue it for the journal writer (instead of rewriting the data file).
+    // Apply and append happen under the same lock, so changes to one presentation
+    // reach the journal in the order they were applied.
+    // Scores and votes touch one presentation and publish once, so they only take its stripe.
+    // Structural changes may publish several steps (a re-registration removes, then adds;
+    // a poster session also numbers its boards), so they go through commitBatch as a batch
+    // of one and readers never see a step half done.
+    private void commit(Change c) {
+        switch (c.getOp()) {
+            case ADD_EVALUATION:
+            case UPDATE_VOTES:
+                applyAndLogStriped(c);
+                break;
+            default:
+                synchronized (structureLock) { commitStructural(c); }
+        }
+    }
+
+    // Caller holds structureLock
+    private void commitStructural(Change c) {
+        commitBatch(Collections.singletonList(c));
+    }
+
+    private void applyAndLogStriped(Change c) {
+        ReentrantLock lock = stripe(c.getKey());
+        lock.lock();
+        try {
+            applyAndLog(c);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the change's stripe; only for changes that publish once (scores and votes)
+    private void applyAndLog(Change c) {
+        journal.checkWritable(); // Don't change memory that can no longer be saved
+        apply(c);
+        journal.append(c);
+    }
+
+    // Caller holds structureLock. Holding every stripe keeps evaluations from
+    // slipping between the batch's records in memory or in the journal.
+    // Readers see the whole batch or none of it.
+    private void commitBatch(List<Change> changes) {
+        journal.checkWritable();
+        for (ReentrantLock lock : stripes) lock.lock();
+        try {
+            pendingSnapshot = published.get();
+            try {
+                for (Change c : changes) apply(c);
+            } finally {
+                published.set(pendingSnapshot); // No other writer can run while every lock is held
+                pendingSnapshot = null;
+            }
+            journal.appendAll(changes);
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) stripes[i].unlock();
+        }
+    }
+
+    // Makes a change visible to snapshot readers. Called by apply() after the live objects
+    // are updated, with the lock that guards them held. Writers on different stripes may
+    // publish at once, so the update is retried on a fresh snapshot; it copies the live
+    // object on each attempt, so the last copy published always includes every change.
+    private void publish(UnaryOperator<SeminarSnapshot> update) {
+        if (pendingSnapshot != null) { // Inside commitBatch (only its thread can get here)
+            pendingSnapshot = update.apply(pendingSnapshot);
+            return;
+        }
+        SeminarSnapshot current;
+        do {
+            current = published.get();
+        } while (!published.compareAndSet(current, update.apply(current)));
+    }
+
+    private ReentrantLock stripe(String studentId) {
+        return stripes[(studentId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    // Barrier: returns once every change made so far (live votes included) is on disk,
+    // or throws UncheckedIOException if the journal could not write them
+    public void flush() {
+        flushVotes();
+        journal.flush();
+    }
+
+    // Flush pending changes and stop the journal writer (call before exiting)
+    public void shutdown() {
+        voteFlusher.shutdown();
+        try { voteFlusher.awaitTermination(5, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        flushVotes();
+        try {
+            journal.close();
+        } finally {
+            texts.close();
+        }
+    }
+
+    // --- Persistence (Snapshot + Journal) ---
+    // Writes a full snapshot, resets the journal and waits until both are on disk
     private void saveData() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(users);
-            oos.writeObject(presentations);
-            oos.writeObject(sessions);
-        } catch (IOException e) { e.printStackTrace(); }
+        journal.checkpoint();
+        journal.flush();
+    }
+
+    // Snapshot layout: see SeminarCodec
+    // Runs on the journal writer thread while other threads may keep changing data.
+    // Every change up to lastSeq was published before it was journaled, so the current
+    // snapshot covers it (and is consistent, unlike walking the live maps).
+    private byte[] encodeSnapshot(long lastSeq) {
+        SeminarSnapshot snap = snapshot();
+        try {
+            texts.compactIfWasteful(); // Moves the snapshot's text references too, before they are written
+        } catch (IOException e) {
+            e.printStackTrace(); // Nothing moved; the snapshot keeps using the current text file
+        }
+        texts.force(); // The snapshot refers to stored text, so that text must reach the disk first
+        return SeminarCodec.encodeSnapshot(new SeminarCodec.Snapshot(
+            new ArrayList<>(snap.getAllUsers()), new ArrayList<>(snap.getAllPresentations()), new ArrayList<>(snap.getAllSessions()),
+            lastSeq, texts.getGeneration()));
     }
 
-    @SuppressWarnings("unchecked")
     private void loadData() {
+        SeminarEvents.Persistence event = new SeminarEvents.Persistence();
+        event.begin();
+        long t0 = System.nanoTime();
         File f = new File(DATA_FILE);
-        if (!f.exists()) return;
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(f))) {
-            users = (List<User>) ois.readObject();
-            presentations = (List<Presentation>) ois.readObject();
-            sessions = (List<SeminarSession>) ois.readObject(); 
+        File legacy = new File(LEGACY_DATA_FILE);
+        boolean saveAfterLoad = false;
+        long lastSeq = 0; // Sequence number of the last applied change
+        try {
+            SeminarCodec.Snapshot snap = null;
+            if (f.exists()) {
+                snap = SeminarCodec.readSnapshot(f, texts);
+                saveAfterLoad = snap.version < SeminarCodec.FORMAT_VERSION; // Rewrite now that its text is stored
+            } else if (legacy.exists()) {
+                // One-shot upgrade from the old Java-serialized file (left in place as a backup);
+                // going through the codec moves long text into the text store
+                snap = SeminarCodec.decodeSnapshot(ByteBuffer.wrap(SeminarCodec.encodeSnapshot(SeminarCodec.readLegacy(legacy))), texts);
+                saveAfterLoad = true;
+            }
+            if (snap != null) {
+                rebuildIndexes(snap.users, snap.presentations, snap.sessions);
+                lastSeq = snap.lastSeq;
+            }
         } catch (Exception e) { 
             System.out.println("No previous data found or error loading."); 
         }
+        // Replay the journal tail on top of the snapshot
+        long storedText = texts.size();
+        List<Change> tail = journal.replay();
+        for (Change c : tail) {
+            if (c.getSeq() <= lastSeq) continue; // Already contained in the snapshot
+            apply(c);
+            lastSeq = c.getSeq();
+        }
+        journal.resume(lastSeq);
+        // Replayed text was stored again; a snapshot now keeps the next start from repeating that
+        if (texts.size() != storedText) saveAfterLoad = true;
+        loadTimer.record(t0);
+        event.operation = "load";
+        event.bytes = (f.exists() ? f.length() : legacy.length()) + journal.getBytesSinceCheckpoint();
+        event.records = tail.size();
+        event.commit();
+        if (saveAfterLoad) saveData();
     }
 
     private void seedData() {
         // Default Users for Testing
-        users.add(new Coordinator("C001", "Dr. Ng Hu", "pass"));
-        users.add(new Student("S001", "Jasmyne Yap", "pass"));
-        users.add(new Student("S002", "Wan Hanani", "pass"));
-        users.add(new Evaluator("E001", "Prof. Josh", "pass"));
-        users.add(new Evaluator("E002", "Dr. Lim", "pass"));
+        putUser(new Coordinator("C001", "Dr. Ng Hu", "pass"));
+        putUser(new Student("S001", "Jasmyne Yap", "pass"));
+        putUser(new Student("S002", "Wan Hanani", "pass"));
+        putUser(new Evaluator("E001", "Prof. Josh", "pass"));
+        putUser(new Evaluator("E002", "Dr. Lim", "pass"));
         saveData();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Consistent Read-Only View of the Seminar Data
+// Every write in SeminarManager publishes a new SeminarSnapshot; nothing inside one ever
+// changes. A reader takes manager.snapshot() (one volatile read) and then sees users,
+// presentations, sessions, scores and assignments exactly as they were at that moment,
+// however long it works and whatever evaluators submit meanwhile.
+//
+// Presentations and sessions here are frozen copies (see Presentation.frozenCopy()):
+// they cannot be modified, and changes go through the manager by ID as usual.
+// Live vote counts that are not yet flushed are not included (see getVotes()).
+public final class SeminarSnapshot {
+    static final SeminarSnapshot EMPTY = new SeminarSnapshot(0, PersistentIndex.empty(), PersistentIndex.empty(), PersistentIndex.empty());
+
+    private final long version;
+    private final PersistentIndex<User> users;                 // Key: lower-case User ID
+    private final PersistentIndex<Presentation> presentations; // Key: Student ID
+    private final PersistentIndex<SeminarSession> sessions;    // Key: Session ID
+
+    private SeminarSnapshot(long version, PersistentIndex<User> users, PersistentIndex<Presentation> presentations,
+                            PersistentIndex<SeminarSession> sessions) {
+        this.version = version;
+        this.users = users;
+        this.presentations = presentations;
+        this.sessions = sessions;
+    }
+
+    // Grows with every published change
+    public long getVersion() { return version; }
+
+    // --- Reads (same meaning as the SeminarManager methods of the same name) ---
+    public User getUser(String id) { return id == null ? null : users.get(SeminarManager.userKey(id)); }
+    public Presentation getPresentationByStudent(String studentId) { return studentId == null ? null : presentations.get(studentId); }
+    public SeminarSession getSession(String sessionId) { return sessionId == null ? null : sessions.get(sessionId); }
+
+    // Insertion order, like the live collections
+    public Collection<User> getAllUsers() { return users.values(); }
+    public Collection<Presentation> getAllPresentations() { return presentations.values(); }
+    public Collection<SeminarSession> getAllSessions() { return sessions.values(); }
+
+    public List<User> getUsersByRole(Class<?> role) {
+        List<User> result = new ArrayList<>();
+        for (User u : users.values()) if (role.isInstance(u)) result.add(u);
+        return result;
+    }
+
+    // Every session in date and time order (untimed sessions last)
+    public List<SeminarSession> getSessionsInOrder() {
+        List<SeminarSession> result = new ArrayList<>(sessions.values());
+        result.sort(SeminarSession.CHRONOLOGICAL);
+        return result;
+    }
+
+    // --- Updates (used by SeminarManager; each returns a new snapshot) ---
+    SeminarSnapshot withUser(User u) {
+        return new SeminarSnapshot(version + 1, users.put(SeminarManager.userKey(u.getId()), u), presentations, sessions);
+    }
+
+    SeminarSnapshot withoutUser(String id) {
+        return new SeminarSnapshot(version + 1, users.remove(SeminarManager.userKey(id)), presentations, sessions);
+    }
+
+    // New registration: goes to the end, like the live index
+    SeminarSnapshot withPresentation(Presentation p) {
+        return new SeminarSnapshot(version + 1, users, presentations.put(p.getStudentId(), p.frozenCopy()), sessions);
+    }
+
+    // Changed scores, votes, board or reviewers: keeps its position
+    SeminarSnapshot withUpdatedPresentation(Presentation p) {
+        return new SeminarSnapshot(version + 1, users, presentations.replace(p.getStudentId(), p.frozenCopy()), sessions);
+    }
+
+    SeminarSnapshot withoutPresentation(String studentId) {
+        return new SeminarSnapshot(version + 1, users, presentations.remove(studentId), sessions);
+    }
+
+    SeminarSnapshot withSession(SeminarSession s) {
+        return new SeminarSnapshot(version + 1, users, presentations, sessions.put(s.getSessionId(), s.frozenCopy()));
+    }
+
+    SeminarSnapshot withUpdatedSession(SeminarSession s) {
+        return new SeminarSnapshot(version + 1, users, presentations, sessions.replace(s.getSessionId(), s.frozenCopy()));
+    }
+
+    SeminarSnapshot withoutSession(String sessionId) {
+        return new SeminarSnapshot(version + 1, users, presentations, sessions.remove(sessionId));
+    }
+}
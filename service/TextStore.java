@@ -0,0 +1,322 @@
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only Text Store
+// Abstracts and comments longer than MIN_LENGTH live in their own file (seminar_data.text)
+// instead of on the heap. Presentations and evaluations keep a small Ref (offset + length)
+// and read the text back on demand, through a small LRU cache of recently used entries.
+// Snapshots store the Ref, so loading the data file no longer decodes any of that text.
+//
+// Entries are raw UTF-8, never rewritten. New text is buffered and written out in blocks;
+// force() puts everything on disk and must run before a snapshot that refers to it is saved.
+// Journal records keep their text inline, so a crash only loses text the journal replays.
+//
+// Regrades, re-registrations and journal replays leave dead entries behind, so the checkpoint
+// compacts the file once most of it is dead: the live entries (those a Ref still reaches) are
+// copied into the next generation's file (seminar_data.text.1, .2, ...) and their Refs moved
+// there. The snapshot names the generation it refers to, so the old file stays valid until
+// that snapshot is in place; it is deleted at the following compaction.
+public class TextStore {
+    public static final int MIN_LENGTH = 64;     // Shorter text stays in memory
+    private static final int CACHE_ENTRIES = 256;
+    private static final int WRITE_BLOCK = 64 * 1024;
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024; // Smaller files are never worth compacting
+
+    private final String basePath;
+    private final Metrics.Counter reads;   // Loads that had to go to disk
+    private final Metrics.Counter compactions;
+
+    // --- Appends (guarded by 'this') ---
+    private int generation;
+    private Segment current;
+    private final List<Segment> retired = new ArrayList<>();   // Replaced files, deleted at the next compaction
+    private final List<WeakReference<Ref>> issued = new ArrayList<>(); // Every Ref handed out (compaction finds the live ones)
+    private long writtenSize;                  // Bytes already in the file
+    private byte[] pending = new byte[4096];   // Appended after writtenSize
+    private int pendingSize;
+    private long nextId;
+
+    // Ref ID -> text, least recently used first (keyed by ID so the cache doesn't keep dead Refs alive)
+    private final Map<Long, String> cache = new LinkedHashMap<Long, String>(CACHE_ENTRIES, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) { return size() > CACHE_ENTRIES; }
+    };
+
+    // One generation's file
+    private static final class Segment {
+        final File file;
+        final FileChannel channel;
+
+        Segment(File file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    // Stored text, as held by Presentation and Evaluation. Compaction moves it to a new
+    // segment; segment and offset change only under the store's lock (or on the journal
+    // writer thread, which is the one that compacts).
+    public static final class Ref implements TextRef {
+        private final TextStore store;
+        private final long id;
+        private Segment segment;
+        long offset;
+        final int length; // UTF-8 bytes
+
+        private Ref(TextStore store, long id, Segment segment, long offset, int length) {
+            this.store = store;
+            this.id = id;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override public String load() { return store.load(this); }
+    }
+
+    // Opens the file of the given generation (the one the data file refers to; 0 without one)
+    public TextStore(String path, int generation, Metrics metrics) {
+        this.basePath = path;
+        this.generation = generation;
+        this.current = open(fileFor(generation), false);
+        try {
+            if (current != null) writtenSize = current.channel.size();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.reads = metrics.counter("text.reads");
+        this.compactions = metrics.counter("text.compactions");
+        metrics.gauge("text.bytes", this::size);
+    }
+
+    public synchronized long size() { return writtenSize + pendingSize; }
+
+    // Generation new snapshots must name
+    public synchronized int getGeneration() { return generation; }
+
+    // --- Storing ---
+    // Returns a reference to a stored copy, or null if the text is short enough to keep in memory
+    public TextRef store(String text) {
+        if (text == null || text.length() < MIN_LENGTH || current == null) return null;
+        byte[] utf = text.getBytes(StandardCharsets.UTF_8);
+        Ref ref;
+        synchronized (this) {
+            ref = issue(writtenSize + pendingSize, utf.length);
+            if (pendingSize + utf.length > pending.length) pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + utf.length));
+            System.arraycopy(utf, 0, pending, pendingSize, utf.length);
+            pendingSize += utf.length;
+            if (pendingSize >= WRITE_BLOCK) {
+                try { writePending(); } catch (IOException e) { e.printStackTrace(); } // Stays buffered; retried on the next write
+            }
+        }
+        synchronized (cache) { cache.put(ref.id, text); }
+        return ref;
+    }
+
+    // Moves long comments out of memory (returns the evaluation itself when there is nothing to move)
+    public Evaluation store(Evaluation e) {
+        if (e.getCommentsRef() != null) return e;
+        TextRef ref = store(e.getComments());
+        return ref == null ? e : e.withCommentsRef(ref);
+    }
+
+    // Reference read back from a snapshot
+    public synchronized TextRef ref(long offset, int length) throws IOException {
+        if (current == null || offset < 0 || length < 0 || offset + length > size()) throw new IOException("Text reference past the end of " + fileFor(generation).getName());
+        return issue(offset, length);
+    }
+
+    // Caller holds 'this'
+    private Ref issue(long offset, int length) {
+        Ref ref = new Ref(this, nextId++, current, offset, length);
+        issued.add(new WeakReference<>(ref));
+        return ref;
+    }
+
+    // Everything stored so far goes to disk
+    public synchronized void force() {
+        if (current == null) return;
+        try {
+            writePending();
+            current.channel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void close() {
+        force();
+        for (Segment s : retired) closeQuietly(s);
+        if (current != null) closeQuietly(current);
+    }
+
+    // --- Compaction ---
+    // Called by the checkpoint before it encodes the snapshot (which must then name
+    // getGeneration()). Copies the live entries to a new file if at least half of the
+    // current one is dead, so each byte is copied amortized O(1) times.
+    // Returns true if it compacted.
+    public synchronized boolean compactIfWasteful() throws IOException {
+        if (current == null) return false;
+        List<Ref> live = liveRefs();
+        long liveBytes = 0;
+        for (Ref r : live) liveBytes += r.length;
+        if (size() < Math.max(MIN_COMPACT_BYTES, 2 * liveBytes)) return false;
+
+        // The snapshot on disk names the current generation, so every other one can go
+        // (including leftovers of a run that stopped before its next compaction)
+        for (Segment s : retired) closeQuietly(s);
+        retired.clear();
+        deleteOtherGenerations();
+
+        writePending();
+        Segment next = open(fileFor(generation + 1), true);
+        if (next == null) throw new IOException("Can't create " + fileFor(generation + 1).getName());
+        live.sort(Comparator.comparingLong(r -> r.offset)); // Read the old file front to back
+        ByteArrayOutputStream block = new ByteArrayOutputStream(WRITE_BLOCK * 2);
+        long position = 0;
+        Map<Ref, Long> moved = new IdentityHashMap<>();
+        try {
+            for (Ref r : live) {
+                block.write(read(current, r.offset, r.length));
+                moved.put(r, position + block.size() - r.length);
+                if (block.size() >= WRITE_BLOCK) position += writeAt(next, position, block);
+            }
+            position += writeAt(next, position, block);
+            next.channel.force(false);
+        } catch (IOException e) {
+            closeQuietly(next);
+            Files.deleteIfExists(next.file.toPath());
+            throw e;
+        }
+
+        // Nothing has moved until the copy is safely on disk
+        for (Map.Entry<Ref, Long> m : moved.entrySet()) {
+            m.getKey().segment = next;
+            m.getKey().offset = m.getValue();
+        }
+        retired.add(current); // Kept open: a load that started before the move may still read it
+        current = next;
+        generation++;
+        writtenSize = position;
+        compactions.increment();
+        return true;
+    }
+
+    // Refs still reachable from somewhere, all of them in the current file; drops the rest
+    private List<Ref> liveRefs() {
+        List<Ref> live = new ArrayList<>();
+        for (Iterator<WeakReference<Ref>> it = issued.iterator(); it.hasNext(); ) {
+            Ref r = it.next().get();
+            if (r == null) it.remove();
+            else live.add(r);
+        }
+        return live;
+    }
+
+    // --- Loading ---
+    private String load(Ref ref) {
+        synchronized (cache) {
+            String cached = cache.get(ref.id);
+            if (cached != null) return cached;
+        }
+        byte[] utf;
+        Segment segment;
+        long offset;
+        synchronized (this) {
+            segment = ref.segment;
+            offset = ref.offset;
+            utf = segment == current && offset >= writtenSize ? Arrays.copyOfRange(pending, (int) (offset - writtenSize), (int) (offset - writtenSize) + ref.length) : null;
+        }
+        if (utf == null) {
+            try {
+                utf = read(segment, offset, ref.length);
+                reads.increment();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return "";
+            }
+        }
+        String text = new String(utf, StandardCharsets.UTF_8);
+        synchronized (cache) { cache.put(ref.id, text); }
+        return text;
+    }
+
+    private static byte[] read(Segment segment, long offset, int length) throws IOException {
+        byte[] utf = new byte[length];
+        ByteBuffer buf = ByteBuffer.wrap(utf);
+        while (buf.hasRemaining()) {
+            if (segment.channel.read(buf, offset + buf.position()) < 0) throw new EOFException("Truncated " + segment.file.getName());
+        }
+        return utf;
+    }
+
+    // --- Helpers ---
+    // Caller holds 'this'
+    private void writePending() throws IOException {
+        if (pendingSize == 0) return;
+        ByteBuffer buf = ByteBuffer.wrap(pending, 0, pendingSize);
+        while (buf.hasRemaining()) current.channel.write(buf, writtenSize + buf.position());
+        writtenSize += pendingSize;
+        pendingSize = 0;
+        if (pending.length > WRITE_BLOCK * 2) pending = new byte[4096];
+    }
+
+    // Writes and empties the block; returns the bytes written
+    private static int writeAt(Segment segment, long position, ByteArrayOutputStream block) throws IOException {
+        int n = block.size();
+        ByteBuffer buf = ByteBuffer.wrap(block.toByteArray());
+        while (buf.hasRemaining()) segment.channel.write(buf, position + buf.position());
+        block.reset();
+        return n;
+    }
+
+    // Caller holds 'this'
+    private void deleteOtherGenerations() throws IOException {
+        File base = new File(basePath).getAbsoluteFile();
+        File[] files = base.getParentFile().listFiles();
+        if (files == null) return;
+        String name = base.getName();
+        for (File f : files) {
+            String n = f.getName();
+            boolean generationFile = n.equals(name) || (n.startsWith(name + ".") && n.substring(name.length() + 1).matches("[0-9]+"));
+            if (generationFile && !f.getAbsoluteFile().equals(current.file.getAbsoluteFile())) Files.deleteIfExists(f.toPath());
+        }
+    }
+
+    // Generation 0 keeps the original file name, so older data files still find their text
+    private File fileFor(int gen) {
+        return new File(gen == 0 ? basePath : basePath + "." + gen);
+    }
+
+    private static Segment open(File file, boolean truncate) {
+        try {
+            FileChannel ch = truncate
+                ? FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(file, ch);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Segment s) {
+        try {
+            s.channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
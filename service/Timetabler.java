@@ -0,0 +1,286 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Automatic Session Timetabling
+// Turns presentations, evaluators, venues and time windows into sessions with assignments:
+//   - a venue hosts at most one session at a time,
+//   - an evaluator sits in at most one session at a time,
+//   - every session holds a single presentation type (Oral or Poster),
+//   - presenters are spread evenly over the sessions of their type.
+// Existing sessions keep their venues and evaluators busy, and presenters already
+// in a session are left alone, so the timetabler can be run again as people register.
+// A presentation whose type is neither Oral nor Poster can't go in any session; it is
+// listed as unscheduled (and as untyped in the summary).
+//
+// Each attempt is a greedy construction from its own random seed (venue order and
+// evaluator tie-breaks). Attempts run in parallel on a fork-join pool and the best
+// plan wins; the same seeds always give the same plan.
+public class Timetabler {
+    private static final int DEFAULT_ATTEMPTS = 64;
+
+    private final SeminarManager manager;
+    private int attempts = DEFAULT_ATTEMPTS;
+
+    public Timetabler(SeminarManager manager) {
+        this.manager = manager;
+    }
+
+    public void setAttempts(int attempts) { this.attempts = Math.max(1, attempts); }
+
+    // --- Time Windows ---
+    // A date and time range in the session form's format ("20/04/2026", "14:00 - 16:30")
+    public static class Window {
+        final String date;
+        final String time;
+        final long start, end; // Minutes since 1970, or -1 if the text could not be parsed
+        final int order;       // Position in the caller's list (keeps unparsed windows in order)
+
+        Window(String date, String time, int order) {
+            this.date = date.trim();
+            this.time = time.trim();
+            this.order = order;
+            long[] range = SeminarSession.parseRange(this.date, this.time);
+            this.start = range == null ? -1 : range[0];
+            this.end = range == null ? -1 : range[1];
+        }
+
+        // Unparsed windows only clash with the exact same date and time text
+        boolean overlaps(Window o) {
+            if (start < 0 || o.start < 0) return date.equals(o.date) && time.equals(o.time);
+            return start < o.end && o.start < end;
+        }
+    }
+
+    // --- Result ---
+    public static class PlannedSession {
+        private final SeminarSession session;
+        private final List<String> evaluatorIds = new ArrayList<>();
+        private final List<String> studentIds = new ArrayList<>();
+
+        PlannedSession(SeminarSession session) { this.session = session; }
+
+        public SeminarSession getSession() { return session; }
+        public List<String> getEvaluatorIds() { return evaluatorIds; }
+        public List<String> getStudentIds() { return studentIds; }
+    }
+
+    public static class Plan {
+        private final List<PlannedSession> sessions = new ArrayList<>();
+        private final List<Presentation> unscheduled = new ArrayList<>();
+        private int untyped;            // Of the unscheduled: no valid presentation type
+        private int evaluatorShortfall; // Evaluator seats left empty
+        private int maxLoad;            // Most sessions given to one evaluator
+        private long loadSquares;       // Sum of squared loads (lower = more even)
+        private long seed;
+
+        public List<PlannedSession> getSessions() { return sessions; }
+        public List<Presentation> getUnscheduled() { return unscheduled; }
+        public int getEvaluatorShortfall() { return evaluatorShortfall; }
+
+        // Fewer unscheduled presenters, then fewer empty seats, then fairer load, then fewer sessions
+        boolean betterThan(Plan o) {
+            if (unscheduled.size() != o.unscheduled.size()) return unscheduled.size() < o.unscheduled.size();
+            if (evaluatorShortfall != o.evaluatorShortfall) return evaluatorShortfall < o.evaluatorShortfall;
+            if (maxLoad != o.maxLoad) return maxLoad < o.maxLoad;
+            if (loadSquares != o.loadSquares) return loadSquares < o.loadSquares;
+            if (sessions.size() != o.sessions.size()) return sessions.size() < o.sessions.size();
+            return seed < o.seed;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(sessions.size()).append(" session(s) planned, ")
+              .append(unscheduled.size()).append(" presenter(s) left unscheduled")
+              .append(untyped > 0 ? " (" + untyped + " with no valid type), " : ", ")
+              .append(evaluatorShortfall).append(" evaluator seat(s) unfilled.\n\n");
+            for (PlannedSession ps : sessions) {
+                sb.append(ps.session.getSessionId()).append("  ").append(ps.session)
+                  .append("  presenters: ").append(ps.studentIds.size())
+                  .append("  evaluators: ").append(String.join(", ", ps.evaluatorIds)).append("\n");
+            }
+            return sb.toString();
+        }
+    }
+
+    // --- Planning ---
+    // windows: one {date, time} pair per entry, e.g. {"20/04/2026", "09:00 - 12:00"}
+    public Plan plan(List<String> venues, List<String[]> windows, int maxPresentersPerSession, int evaluatorsPerSession) {
+        if (maxPresentersPerSession < 1 || evaluatorsPerSession < 1) throw new IllegalArgumentException("Session sizes must be at least 1");
+        Problem problem = new Problem(venues, windows, maxPresentersPerSession, evaluatorsPerSession);
+        return ForkJoinPool.commonPool().invoke(new Search(problem, 0, attempts));
+    }
+
+    // Everything the attempts share (read-only once built)
+    private class Problem {
+        final List<String> venues = new ArrayList<>();
+        final List<Window> windows = new ArrayList<>();
+        final List<String> evaluators = new ArrayList<>();
+        final Map<PresentationType, List<Presentation>> pending = new EnumMap<>(PresentationType.class); // Presenters not yet in a session
+        final List<Presentation> untyped = new ArrayList<>(); // Not yet in a session, but no session could take them
+        final Map<String, List<Window>> venueBusy = new HashMap<>(); // Key: SeminarManager.venueKey
+        final Map<String, List<Window>> evaluatorBusy = new HashMap<>();
+        final Map<String, Integer> evaluatorLoad = new HashMap<>();
+        final List<String> sessionIds = new ArrayList<>(); // Enough unused IDs for every slot
+        final int capacity, evalsPerSession;
+
+        Problem(List<String> venueNames, List<String[]> windowTexts, int capacity, int evalsPerSession) {
+            this.capacity = capacity;
+            this.evalsPerSession = evalsPerSession;
+            Set<String> venueKeys = new HashSet<>(); // Same rule as the manager's venue check, so no plan is rejected for a clash
+            for (String v : venueNames) if (!v.trim().isEmpty() && venueKeys.add(SeminarManager.venueKey(v))) venues.add(v.trim());
+            for (String[] w : windowTexts) windows.add(new Window(w[0], w[1], windows.size()));
+            // Chronological; unparsed windows keep their given order at the end
+            windows.sort(Comparator.comparingLong((Window w) -> w.start < 0 ? Long.MAX_VALUE : w.start).thenComparingInt(w -> w.order));
+
+            SeminarSnapshot snap = manager.snapshot(); // One consistent view for the whole plan
+            for (User u : snap.getUsersByRole(Evaluator.class)) {
+                evaluators.add(u.getId());
+                evaluatorLoad.put(u.getId(), 0);
+            }
+
+            Set<String> scheduled = new HashSet<>();
+            for (SeminarSession s : snap.getAllSessions()) {
+                Window w = new Window(s.getDate(), s.getTime(), -1);
+                venueBusy.computeIfAbsent(SeminarManager.venueKey(s.getVenue()), k -> new ArrayList<>()).add(w);
+                for (String e : s.getEvaluatorIds()) {
+                    evaluatorBusy.computeIfAbsent(e, k -> new ArrayList<>()).add(w);
+                    evaluatorLoad.merge(e, 1, Integer::sum);
+                }
+                scheduled.addAll(s.getStudentIds());
+            }
+            for (Presentation p : snap.getAllPresentations()) {
+                if (scheduled.contains(p.getStudentId())) continue;
+                if (p.getPresentationType() == null) untyped.add(p);
+                else pending.computeIfAbsent(p.getPresentationType(), k -> new ArrayList<>()).add(p);
+            }
+
+            int slots = venues.size() * windows.size();
+            for (int n = 1000; sessionIds.size() < slots; n++) {
+                String id = "S-" + n;
+                if (snap.getSession(id) == null) sessionIds.add(id);
+            }
+        }
+    }
+
+    // Splits the seed range until each task builds a single plan, then keeps the best
+    private class Search extends RecursiveTask<Plan> {
+        private static final long serialVersionUID = 1L; // Never serialized (ForkJoinTask is Serializable)
+        private final Problem problem;
+        private final int from, to;
+
+        Search(Problem problem, int from, int to) {
+            this.problem = problem;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Plan compute() {
+            if (to - from == 1) return build(problem, from);
+            int mid = (from + to) >>> 1;
+            Search left = new Search(problem, from, mid);
+            left.fork();
+            Plan right = new Search(problem, mid, to).compute();
+            Plan best = left.join();
+            return right.betterThan(best) ? right : best;
+        }
+    }
+
+    // One greedy attempt: walk the slots in time order, give each one the type with the
+    // most sessions still needed, seat the least-loaded free evaluators, then fill presenters.
+    private Plan build(Problem pr, long seed) {
+        Random random = new Random(seed);
+        Plan plan = new Plan();
+        plan.seed = seed;
+
+        Map<PresentationType, Integer> needed = new EnumMap<>(PresentationType.class);
+        for (Map.Entry<PresentationType, List<Presentation>> e : pr.pending.entrySet()) {
+            needed.put(e.getKey(), (e.getValue().size() + pr.capacity - 1) / pr.capacity);
+        }
+        Map<String, List<Window>> venueBusy = copy(pr.venueBusy);
+        Map<String, List<Window>> evaluatorBusy = copy(pr.evaluatorBusy);
+        Map<String, Integer> load = new HashMap<>(pr.evaluatorLoad);
+        Map<String, Integer> tieBreak = new HashMap<>();
+        for (String e : pr.evaluators) tieBreak.put(e, random.nextInt());
+        Map<PresentationType, List<PlannedSession>> byType = new EnumMap<>(PresentationType.class);
+
+        int nextId = 0;
+        for (Window w : pr.windows) {
+            List<String> venues = new ArrayList<>(pr.venues);
+            Collections.shuffle(venues, random);
+            for (String venue : venues) {
+                PresentationType type = mostNeeded(needed);
+                if (type == null) break;
+                if (isBusy(venueBusy.get(SeminarManager.venueKey(venue)), w)) continue;
+
+                List<String> free = new ArrayList<>();
+                for (String e : pr.evaluators) if (!isBusy(evaluatorBusy.get(e), w)) free.add(e);
+                if (free.isEmpty()) break; // Nobody left to evaluate in this window
+                free.sort(Comparator.comparingInt((String e) -> load.get(e)).thenComparingInt(tieBreak::get));
+
+                PlannedSession ps = new PlannedSession(new SeminarSession(pr.sessionIds.get(nextId++), w.date, w.time, venue, type.getLabel()));
+                for (String e : free.subList(0, Math.min(pr.evalsPerSession, free.size()))) {
+                    ps.evaluatorIds.add(e);
+                    load.merge(e, 1, Integer::sum);
+                    evaluatorBusy.computeIfAbsent(e, k -> new ArrayList<>()).add(w);
+                }
+                plan.evaluatorShortfall += pr.evalsPerSession - ps.evaluatorIds.size();
+                venueBusy.computeIfAbsent(SeminarManager.venueKey(venue), k -> new ArrayList<>()).add(w);
+                needed.merge(type, -1, Integer::sum);
+                byType.computeIfAbsent(type, k -> new ArrayList<>()).add(ps);
+                plan.sessions.add(ps);
+            }
+        }
+
+        // Spread each type's presenters evenly over its sessions (sizes differ by at most one)
+        for (Map.Entry<PresentationType, List<Presentation>> e : pr.pending.entrySet()) {
+            List<PlannedSession> sessions = byType.getOrDefault(e.getKey(), Collections.emptyList());
+            List<Presentation> presenters = e.getValue();
+            if (sessions.isEmpty()) { plan.unscheduled.addAll(presenters); continue; }
+            int fits = Math.min(presenters.size(), sessions.size() * pr.capacity);
+            for (int i = 0; i < fits; i++) sessions.get(i % sessions.size()).studentIds.add(presenters.get(i).getStudentId());
+            plan.unscheduled.addAll(presenters.subList(fits, presenters.size()));
+        }
+        plan.unscheduled.addAll(pr.untyped);
+        plan.untyped = pr.untyped.size();
+
+        for (int l : load.values()) {
+            plan.maxLoad = Math.max(plan.maxLoad, l);
+            plan.loadSquares += (long) l * l;
+        }
+        return plan;
+    }
+
+    private static PresentationType mostNeeded(Map<PresentationType, Integer> needed) {
+        PresentationType best = null;
+        for (Map.Entry<PresentationType, Integer> e : needed.entrySet()) {
+            if (e.getValue() <= 0) continue;
+            // EnumMap walks the types in declaration order, so ties go to the first and attempts stay deterministic
+            if (best == null || e.getValue() > needed.get(best)) best = e.getKey();
+        }
+        return best;
+    }
+
+    private static boolean isBusy(List<Window> busy, Window w) {
+        if (busy == null) return false;
+        for (Window b : busy) if (b.overlaps(w)) return true;
+        return false;
+    }
+
+    private static Map<String, List<Window>> copy(Map<String, List<Window>> m) {
+        Map<String, List<Window>> c = new HashMap<>();
+        for (Map.Entry<String, List<Window>> e : m.entrySet()) c.put(e.getKey(), new ArrayList<>(e.getValue()));
+        return c;
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Live People's Choice Counter (one per presentation)
+// Votes are added to a LongAdder, so thousands of concurrent voters never contend
+// on one field. The total is persisted periodically by SeminarManager; 'persisted'
+// remembers what was last written so unchanged counters cost nothing to flush.
+public class VoteCounter {
+    private final LongAdder added = new LongAdder();
+    private volatile long base;      // Count the adder started from
+    private volatile long resets;    // Bumped by every manual override
+
+    // Flush bookkeeping (only touched by SeminarManager.flushVotes)
+    private long persisted;          // Last total written
+    private int captured;            // Total read at the start of the current flush
+    private long capturedResets;
+
+    VoteCounter(int startVotes) {
+        this.base = startVotes;
+        this.persisted = startVotes;
+    }
+
+    void increment() { added.increment(); }
+
+    public int getTotal() {
+        return (int) Math.min(Integer.MAX_VALUE, base + added.sum());
+    }
+
+    // Reads the total to persist; true if it differs from what was last written
+    boolean capture() {
+        capturedResets = resets;
+        captured = getTotal();
+        return captured != persisted;
+    }
+
+    // False if a manual override replaced the count after capture()
+    boolean isCaptureCurrent() { return resets == capturedResets; }
+
+    int getCaptured() { return captured; }
+
+    void markPersisted() { persisted = captured; }
+
+    // A manual override replaces the count (votes racing with it may be dropped)
+    void reset(int votes) {
+        added.reset();
+        base = votes;
+        persisted = votes;
+        resets++; // Only called under the presentation's stripe lock
+    }
+}
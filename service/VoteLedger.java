@@ -0,0 +1,258 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32;
+
+// One-Vote-Per-Voter Ledger
+// Each voter ID gets a dense number the first time it votes; each presentation keeps an
+// exact bitmap over those numbers. Checking and recording a vote is one CAS on one word,
+// and a presentation costs 1 bit per possible voter (allocated in 4096-voter chunks,
+// so presentations only pay for the ranges their voters fall in).
+//
+// File layout (seminar_data.votes): a full image, then the votes recorded since, appended in batches
+//   magic "SEMV" | version | voters (id, number) | presentations (student ID, chunks)
+//   { count | (voter ID, student ID) * count | crc32 }*
+// A save appends only the new votes; the image is rewritten (dropping the batches) once the
+// batches outgrow it, so disk I/O stays amortized O(1) per vote however many have been cast.
+// A torn last batch (crash mid-append) is ignored on load. Replaying a vote is harmless.
+// A reset (re-registration or a count set by hand) is a batch entry with an empty voter ID
+// (format version 2; real voter IDs are never empty).
+//
+// Resets reach the file with the next save, after the journal has the change that caused
+// them; a crash in between leaves the old voters blocked, never lets anyone vote twice.
+public class VoteLedger {
+    private static final int MAGIC = 0x53454D56; // "SEMV"
+    private static final int FORMAT_VERSION = 2;
+    private static final String RESET = ""; // Voter ID of a reset entry
+    private static final int CHUNK_WORDS = 64;   // 4096 voters per chunk
+    private static final int CHUNK_BITS = CHUNK_WORDS * 64;
+    private static final long MIN_IMAGE_BYTES = 64 * 1024; // Batches may grow to this before a rewrite, however small the image
+
+    private final Map<String, Integer> voterNumbers = new ConcurrentHashMap<>();
+    private final AtomicInteger nextVoter = new AtomicInteger();
+    private final Map<String, Bitmap> votedFor = new ConcurrentHashMap<>(); // Key: Student ID
+
+    // Votes not yet on disk: queued by record(), moved to 'unsaved' by the next save
+    private final ConcurrentLinkedQueue<String[]> recorded = new ConcurrentLinkedQueue<>(); // {voter ID, student ID}
+    private final List<String[]> unsaved = new ArrayList<>(); // Kept until a save succeeds (guarded by 'this')
+    private long imageBytes;   // Size of the image at the start of the file
+    private long appendedBytes; // Batches after it
+
+    // Growable bitmap; bits are set with CAS, chunks are added under the bitmap's lock
+    private static class Bitmap {
+        private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+        boolean testAndSet(int bit) {
+            AtomicLongArray chunk = chunk(bit / CHUNK_BITS);
+            int word = (bit % CHUNK_BITS) >>> 6;
+            long mask = 1L << (bit & 63);
+            while (true) {
+                long old = chunk.get(word);
+                if ((old & mask) != 0) return false;
+                if (chunk.compareAndSet(word, old, old | mask)) return true;
+            }
+        }
+
+        boolean test(int bit) {
+            AtomicLongArray[] cs = chunks;
+            int c = bit / CHUNK_BITS;
+            if (c >= cs.length || cs[c] == null) return false;
+            return (cs[c].get((bit % CHUNK_BITS) >>> 6) & (1L << (bit & 63))) != 0;
+        }
+
+        private AtomicLongArray chunk(int c) {
+            AtomicLongArray[] cs = chunks;
+            if (c < cs.length && cs[c] != null) return cs[c];
+            synchronized (this) {
+                cs = chunks;
+                if (c >= cs.length) cs = Arrays.copyOf(cs, c + 1);
+                else if (cs[c] != null) return cs[c];
+                else cs = cs.clone();
+                cs[c] = new AtomicLongArray(CHUNK_WORDS);
+                chunks = cs; // Publish a fresh array so readers never see a half-filled one
+                return cs[c];
+            }
+        }
+    }
+
+    // Records the vote; false if this voter already voted for this presentation
+    public boolean record(String voterId, String studentId) {
+        int voter = voterNumbers.computeIfAbsent(voterId, k -> nextVoter.getAndIncrement());
+        Bitmap bits = votedFor.get(studentId);
+        if (bits == null) bits = votedFor.computeIfAbsent(studentId, k -> new Bitmap());
+        if (!bits.testAndSet(voter)) return false;
+        recorded.add(new String[] { voterId, studentId });
+        return true;
+    }
+
+    // Forgets every vote for the presentation
+    public void reset(String studentId) {
+        if (votedFor.remove(studentId) == null) return;
+        recorded.add(new String[] { RESET, studentId });
+    }
+
+    public boolean hasVoted(String voterId, String studentId) {
+        Integer voter = voterNumbers.get(voterId);
+        Bitmap bits = votedFor.get(studentId);
+        return voter != null && bits != null && bits.test(voter);
+    }
+
+    public int getVoterCount() { return voterNumbers.size(); }
+
+    // --- Persistence ---
+    // Every vote recorded before the call is on disk when it returns. Votes recorded while
+    // saving may or may not be included (the next save writes them; a second copy is harmless).
+    public synchronized void saveIfChanged(File file) throws IOException {
+        for (String[] v; (v = recorded.poll()) != null; ) unsaved.add(v);
+        if (unsaved.isEmpty()) return;
+        // No image read or written by this ledger yet (never batch onto a file it hasn't parsed)
+        if (imageBytes == 0 || !file.exists() || appendedBytes > Math.max(imageBytes, MIN_IMAGE_BYTES)) writeImage(file);
+        else appendBatch(file);
+        unsaved.clear();
+    }
+
+    private void appendBatch(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(unsaved.size());
+        for (String[] v : unsaved) {
+            out.writeUTF(v[0]);
+            out.writeUTF(v[1]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        try (FileOutputStream f = new FileOutputStream(file, true)) {
+            f.getChannel().truncate(imageBytes + appendedBytes); // Cut off a batch a failed save left half-written
+            bytes.writeTo(f);
+            f.getChannel().force(false);
+        }
+        appendedBytes += bytes.size();
+    }
+
+    // Full image; replaces the file (and the batches after the old image) atomically
+    private void writeImage(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream f = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(f))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            Map<String, Integer> voters = new HashMap<>(voterNumbers);
+            out.writeInt(voters.size());
+            for (Map.Entry<String, Integer> v : voters.entrySet()) {
+                out.writeUTF(v.getKey());
+                out.writeInt(v.getValue());
+            }
+            Map<String, Bitmap> bitmaps = new HashMap<>(votedFor);
+            out.writeInt(bitmaps.size());
+            for (Map.Entry<String, Bitmap> b : bitmaps.entrySet()) {
+                AtomicLongArray[] cs = b.getValue().chunks;
+                int present = 0;
+                for (AtomicLongArray chunk : cs) if (chunk != null) present++;
+                out.writeUTF(b.getKey());
+                out.writeInt(present);
+                for (int c = 0; c < cs.length; c++) {
+                    if (cs[c] == null) continue;
+                    out.writeInt(c);
+                    for (int w = 0; w < CHUNK_WORDS; w++) out.writeLong(cs[c].get(w));
+                }
+            }
+            out.flush();
+            f.getChannel().force(false);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        imageBytes = file.length();
+        appendedBytes = 0;
+    }
+
+    public synchronized void load(File file) throws IOException {
+        if (!file.exists()) return;
+        try (CountingInput counter = new CountingInput(new BufferedInputStream(new FileInputStream(file)));
+             DataInputStream in = new DataInputStream(counter)) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a vote ledger: " + file);
+            int version = in.readInt();
+            if (version < 1 || version > FORMAT_VERSION) throw new IOException("Unsupported vote ledger version " + version);
+            int maxVoter = -1;
+            for (int i = in.readInt(); i > 0; i--) {
+                String id = in.readUTF();
+                int number = in.readInt();
+                voterNumbers.put(id, number);
+                maxVoter = Math.max(maxVoter, number);
+            }
+            nextVoter.set(maxVoter + 1);
+            for (int i = in.readInt(); i > 0; i--) {
+                Bitmap bits = new Bitmap();
+                votedFor.put(in.readUTF(), bits);
+                for (int n = in.readInt(); n > 0; n--) {
+                    AtomicLongArray chunk = bits.chunk(in.readInt());
+                    for (int w = 0; w < CHUNK_WORDS; w++) chunk.set(w, in.readLong());
+                }
+            }
+            imageBytes = counter.count;
+
+            // Batches appended since the image; stop at the first incomplete or damaged one
+            long end = file.length();
+            while (counter.count < end) {
+                long start = counter.count;
+                try {
+                    int n = in.readInt();
+                    if (n < 0) break;
+                    CRC32 crc = new CRC32();
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    DataOutputStream copy = new DataOutputStream(bytes);
+                    copy.writeInt(n);
+                    List<String[]> batch = new ArrayList<>();
+                    for (int i = 0; i < n; i++) {
+                        String voter = in.readUTF(), student = in.readUTF();
+                        copy.writeUTF(voter);
+                        copy.writeUTF(student);
+                        batch.add(new String[] { voter, student });
+                    }
+                    crc.update(bytes.toByteArray());
+                    if (in.readInt() != (int) crc.getValue()) {
+                        counter.count = start;
+                        break;
+                    }
+                    for (String[] v : batch) {
+                        if (v[0].equals(RESET)) votedFor.remove(v[1]);
+                        else record(v[0], v[1]);
+                    }
+                } catch (EOFException e) {
+                    counter.count = start;
+                    break;
+                }
+            }
+            appendedBytes = counter.count - imageBytes; // A torn tail is cut off by the next append
+            if (version < FORMAT_VERSION) imageBytes = 0;  // Old readers can't parse resets: rewrite before the first append
+        }
+        recorded.clear(); // Already on disk
+    }
+
+    // Counts the bytes read, to find where the image ends and the last good batch stops
+    private static class CountingInput extends FilterInputStream {
+        long count;
+
+        CountingInput(InputStream in) { super(in); }
+
+        @Override public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Codec Round Trip Test
+// Saving and loading must give back the same data: through the snapshot format (with long text
+// kept inline, or moved to a TextStore), through journal records, and when converting a legacy
+// Java-serialized data file.
+public class CodecRoundTripTest {
+    public static void main(String[] args) throws Exception {
+        String dir = TestSupport.newDataDir();
+        SeminarCodec.Snapshot original = sample();
+        String expected = describe(original);
+
+        // Snapshot, no text store: everything inline
+        SeminarCodec.Snapshot plain = SeminarCodec.decodeSnapshot(ByteBuffer.wrap(SeminarCodec.encodeSnapshot(original)), null);
+        TestSupport.check(describe(plain).equals(expected), "snapshot round trip differs:\n" + describe(plain) + "\nexpected:\n" + expected);
+        TestSupport.check(plain.lastSeq == 42 && plain.version == SeminarCodec.FORMAT_VERSION, "header fields");
+
+        // Snapshot with a text store: long text moves out, and a second save writes references
+        TextStore texts = new TextStore(new File(dir, "seminar_data.text").getPath(), 0, new Metrics());
+        SeminarCodec.Snapshot stored = SeminarCodec.decodeSnapshot(ByteBuffer.wrap(SeminarCodec.encodeSnapshot(original)), texts);
+        TestSupport.check(stored.presentations.get(0).getAbstractRef() != null, "long abstract not moved to the text store");
+        byte[] withRefs = SeminarCodec.encodeSnapshot(stored);
+        SeminarCodec.Snapshot reread = SeminarCodec.decodeSnapshot(ByteBuffer.wrap(withRefs), texts);
+        TestSupport.check(describe(reread).equals(expected), "snapshot with text references differs:\n" + describe(reread));
+        TestSupport.check(withRefs.length < SeminarCodec.encodeSnapshot(original).length, "text references are not smaller than the text");
+        texts.close();
+
+        // Journal records, one of each kind
+        Presentation p = original.presentations.get(0);
+        List<Change> changes = Arrays.asList(
+            Change.addUser(original.users.get(1)), Change.deleteUser("S9"), Change.registerPresentation(p),
+            Change.addEvaluation(p.getStudentId(), p.getEvaluations().get(0)), Change.updateVotes(p.getStudentId(), -3),
+            Change.createSession(original.sessions.get(0)), Change.deleteSession("SS9"),
+            Change.assignToSession("SS1", Arrays.asList("E1", "E2"), Arrays.asList("S1")),
+            Change.assignReviewers(p.getStudentId(), Arrays.asList("E2")));
+        long seq = 100;
+        for (Change c : changes) {
+            setSeq(c, ++seq);
+            Change back = SeminarCodec.decodeChange(SeminarCodec.encodeChange(c));
+            TestSupport.check(describe(back).equals(describe(c)), "journal record differs: " + describe(back) + " vs " + describe(c));
+        }
+
+        // Legacy file: the three lists written with Java serialization, as the old version did
+        File legacy = new File(dir, "seminar_data.ser");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(legacy))) {
+            out.writeObject(new ArrayList<>(original.users));
+            out.writeObject(new ArrayList<>(original.presentations));
+            out.writeObject(new ArrayList<>(original.sessions));
+        }
+        SeminarCodec.Snapshot converted = SeminarCodec.readLegacy(legacy);
+        TestSupport.check(converted.version == 0 && converted.lastSeq == 0, "legacy header fields");
+        SeminarCodec.Snapshot convertedBack = SeminarCodec.decodeSnapshot(ByteBuffer.wrap(SeminarCodec.encodeSnapshot(converted)), null);
+        TestSupport.check(describe(convertedBack).replace("lastSeq 0", "lastSeq 42").equals(expected), "legacy conversion differs:\n" + describe(convertedBack));
+
+        // A manager started on the legacy file alone converts it and loads the same data
+        SeminarManager m = new SeminarManager(dir);
+        TestSupport.check(new File(dir, "seminar_data.bin").exists(), "legacy file not converted");
+        TestSupport.check(m.getUser("E2") instanceof Evaluator && m.getPresentationByStudent("S1").getAbstractText().equals(p.getAbstractText()), "converted data not loaded");
+        TestSupport.check(m.getSession("SS1").getStudentIds().equals(Arrays.asList("S1")), "converted session assignments");
+        m.shutdown();
+        System.out.println("CodecRoundTripTest passed");
+    }
+
+    private static SeminarCodec.Snapshot sample() {
+        List<User> users = Arrays.asList(new Coordinator("C1", "Coordinator", "pw1"), new Evaluator("E1", "Evaluator One", "pw2"),
+            new Evaluator("E2", "Evaluator Two", "pw3"), new Student("S1", "Student One", "pw4"), new Student("S2", "Student Two", "pw5"));
+        StringBuilder longAbstract = new StringBuilder();
+        while (longAbstract.length() < 300) longAbstract.append("A long abstract with unicode \u00e9\u4e2d. ");
+        Presentation oral = new Presentation("S1", "Student One", "Oral Talk", longAbstract.toString(), "Dr. Sup", "Oral", "talk.pdf");
+        oral.addEvaluation(new Evaluation("E1", 5, 4, 3, 2, "Short"));
+        oral.addEvaluation(new Evaluation("E2", 1, 2, 3, 4, longAbstract.toString().toUpperCase()));
+        oral.setAudienceVotes(17);
+        oral.setReviewerIds(Arrays.asList("E1", "E2"));
+        Presentation poster = new Presentation("S2", "Student Two", "Poster", "", "Dr. Sup", "Poster", "");
+        poster.setBoardId("B01");
+        SeminarSession session = new SeminarSession("SS1", "20/04/2026", "09:00 - 12:00", "Hall A", "Oral");
+        session.setAssignments(Arrays.asList("E1", "E2"), Arrays.asList("S1"));
+        SeminarSession untimed = new SeminarSession("SS2", "TBA", "afternoon", "Foyer", "Poster");
+        return new SeminarCodec.Snapshot(users, Arrays.asList(oral, poster), Arrays.asList(session, untimed), 42);
+    }
+
+    // Every field the codec stores, as text
+    private static String describe(SeminarCodec.Snapshot s) {
+        StringBuilder sb = new StringBuilder("lastSeq ").append(s.lastSeq).append('\n');
+        for (User u : s.users) sb.append(describe(u)).append('\n');
+        for (Presentation p : s.presentations) sb.append(describe(p)).append('\n');
+        for (SeminarSession ss : s.sessions) sb.append(describe(ss)).append('\n');
+        return sb.toString();
+    }
+
+    private static String describe(User u) {
+        return u.getClass().getSimpleName() + " " + u.getId() + "|" + u.getUsername() + "|" + u.getPassword();
+    }
+
+    private static String describe(Presentation p) {
+        StringBuilder sb = new StringBuilder("Presentation ").append(p.getStudentId()).append('|').append(p.getStudentName())
+            .append('|').append(p.getTitle()).append('|').append(p.getAbstractText()).append('|').append(p.getSupervisor())
+            .append('|').append(p.getType()).append('|').append(p.getFilePath()).append('|').append(p.getBoardId())
+            .append('|').append(p.getAudienceVotes()).append('|').append(p.getReviewerIds());
+        for (Evaluation e : p.getEvaluations()) sb.append(" [").append(describe(e)).append(']');
+        return sb.toString();
+    }
+
+    private static String describe(Evaluation e) {
+        return e.getEvaluatorId() + " " + e.getScore1() + e.getScore2() + e.getScore3() + e.getScore4() + " " + e.getComments();
+    }
+
+    private static String describe(SeminarSession s) {
+        return "Session " + s.getSessionId() + "|" + s.getDate() + "|" + s.getTime() + "|" + s.getVenue() + "|" + s.getType()
+            + "|" + s.getStartMinute() + "-" + s.getEndMinute() + "|" + s.getEvaluatorIds() + "|" + s.getStudentIds();
+    }
+
+    private static String describe(Change c) {
+        Object payload = c.getPayload();
+        String body = payload instanceof User ? describe((User) payload)
+            : payload instanceof Presentation ? describe((Presentation) payload)
+            : payload instanceof Evaluation ? describe((Evaluation) payload)
+            : payload instanceof SeminarSession ? describe((SeminarSession) payload) : "-";
+        return c + " " + c.getVotes() + " " + c.getEvaluatorIds() + " " + c.getStudentIds() + " " + body;
+    }
+
+    // Sequence numbers are assigned by the journal; set one by hand as it would
+    private static void setSeq(Change c, long seq) throws Exception {
+        java.lang.reflect.Method m = Change.class.getDeclaredMethod("setSeq", long.class);
+        m.setAccessible(true);
+        m.invoke(c, seq);
+    }
+}
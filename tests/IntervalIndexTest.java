@@ -0,0 +1,115 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Interval Index Test
+// Overlap queries must match a plain scan with half-open ranges (a session ending at 10:00
+// doesn't clash with one starting at 10:00), including after removals that change the
+// latest end time kept in each subtree.
+public class IntervalIndexTest {
+    public static void main(String[] args) {
+        touchingEndpoints();
+        maxEndAfterRemoval();
+        randomAgainstScan();
+        frozenCopy();
+        System.out.println("IntervalIndexTest passed");
+    }
+
+    private static void touchingEndpoints() {
+        IntervalIndex index = new IntervalIndex();
+        SeminarSession morning = session("SS1", "09:00 - 10:00");
+        SeminarSession late = session("SS2", "10:00 - 11:00");
+        index.add("Hall A", morning);
+        index.add("Hall A", late);
+        long nine = morning.getStartMinute(), ten = morning.getEndMinute(), eleven = late.getEndMinute();
+
+        TestSupport.check(ids(index.overlapping("Hall A", ten, eleven)).equals(Arrays.asList("SS2")), "slot starting when SS1 ends");
+        TestSupport.check(ids(index.overlapping("Hall A", nine, ten)).equals(Arrays.asList("SS1")), "slot ending when SS2 starts");
+        TestSupport.check(ids(index.overlapping("Hall A", nine - 60, nine)).isEmpty(), "slot ending when SS1 starts");
+        TestSupport.check(ids(index.overlapping("Hall A", eleven, eleven + 60)).isEmpty(), "slot starting when SS2 ends");
+        TestSupport.check(ids(index.overlapping("Hall A", ten - 1, ten + 1)).equals(Arrays.asList("SS1", "SS2")), "slot across both");
+        TestSupport.check(index.overlapping("Hall B", nine, eleven).isEmpty(), "other key");
+
+        // Untimed sessions are never indexed
+        index.add("Hall A", new SeminarSession("SS3", "TBA", "afternoon", "Hall A", "Oral"));
+        TestSupport.check(index.overlapping("Hall A", 0, Long.MAX_VALUE).size() == 2, "untimed session indexed");
+    }
+
+    // A long session early in the order sets maxEnd for the nodes above it; once it is gone,
+    // later queries must neither return it nor skip the sessions that remain
+    private static void maxEndAfterRemoval() {
+        IntervalIndex index = new IntervalIndex();
+        SeminarSession allDay = session("A", "08:00 - 18:00");
+        index.add("Hall A", allDay);
+        List<SeminarSession> brief = new ArrayList<>();
+        for (int h = 9; h < 17; h++) {
+            SeminarSession s = session("S" + h, String.format("%02d:00 - %02d:30", h, h));
+            brief.add(s);
+            index.add("Hall A", s);
+        }
+        long evening = allDay.getEndMinute() - 60; // 17:00 - 18:00: only the all-day session
+        TestSupport.check(ids(index.overlapping("Hall A", evening, evening + 60)).equals(Arrays.asList("A")), "before removal");
+        index.remove("Hall A", allDay);
+        TestSupport.check(index.overlapping("Hall A", evening, evening + 60).isEmpty(), "removed session still found");
+        long halfPast = brief.get(0).getEndMinute(); // 09:30 - 10:00: nothing left there either
+        TestSupport.check(index.overlapping("Hall A", halfPast, halfPast + 30).isEmpty(), "gap after removal");
+        TestSupport.check(index.overlapping("Hall A", 0, Long.MAX_VALUE).size() == brief.size(), "remaining sessions lost");
+        for (SeminarSession s : brief) index.remove("Hall A", s);
+        TestSupport.check(index.overlapping("Hall A", 0, Long.MAX_VALUE).isEmpty(), "index not empty after removing everything");
+    }
+
+    private static void randomAgainstScan() {
+        Random rnd = new Random(11);
+        IntervalIndex index = new IntervalIndex();
+        List<SeminarSession> live = new ArrayList<>();
+        long day = session("R", "00:00 - 00:15").getStartMinute();
+        for (int op = 0; op < 3000; op++) {
+            if (live.isEmpty() || rnd.nextInt(3) > 0) {
+                int from = rnd.nextInt(20 * 4) * 15; // Quarter hours from 00:00 to 19:45
+                int to = from + 15 * (1 + rnd.nextInt(16));
+                SeminarSession s = session("R" + op, String.format("%02d:%02d - %02d:%02d", from / 60, from % 60, to / 60, to % 60));
+                index.add("Hall A", s);
+                live.add(s);
+            } else {
+                index.remove("Hall A", live.remove(rnd.nextInt(live.size())));
+            }
+            long start = day + rnd.nextInt(24 * 4) * 15;
+            long end = start + 15 * rnd.nextInt(12); // Empty slots included
+            List<String> expected = new ArrayList<>();
+            for (SeminarSession s : live) if (s.overlaps(start, end)) expected.add(s.getSessionId());
+            List<String> found = ids(index.overlapping("Hall A", start, end));
+            found.sort(null);
+            expected.sort(null);
+            TestSupport.check(found.equals(expected), "op " + op + ": " + found + " vs " + expected);
+        }
+    }
+
+    // Snapshot copies keep the parsed times and type, and refuse changes
+    private static void frozenCopy() {
+        SeminarSession s = session("SS1", "09:00 - 10:00");
+        s.setAssignments(Arrays.asList("E1"), Arrays.asList("S1"));
+        SeminarSession copy = s.frozenCopy();
+        TestSupport.check(copy.getStartMinute() == s.getStartMinute() && copy.getEndMinute() == s.getEndMinute(), "copy times");
+        TestSupport.check(copy.getPresentationType() == PresentationType.ORAL && copy.getVenue() == s.getVenue(), "copy type and venue");
+        TestSupport.check(copy.getEvaluatorIds().equals(Arrays.asList("E1")) && copy.getStudentIds().equals(Arrays.asList("S1")), "copy assignments");
+        s.setAssignments(Arrays.asList("E2"), Arrays.asList());
+        TestSupport.check(copy.getEvaluatorIds().equals(Arrays.asList("E1")), "copy follows the original");
+        try {
+            copy.setAssignments(Arrays.asList("E3"), Arrays.asList());
+            TestSupport.check(false, "frozen copy accepted new assignments");
+        } catch (UnsupportedOperationException expected) {
+            // Read-only, as it should be
+        }
+    }
+
+    private static SeminarSession session(String id, String time) {
+        return new SeminarSession(id, "20/04/2026", time, "Hall A", "Oral");
+    }
+
+    private static List<String> ids(List<SeminarSession> sessions) {
+        List<String> ids = new ArrayList<>();
+        for (SeminarSession s : sessions) ids.add(s.getSessionId());
+        return ids;
+    }
+}
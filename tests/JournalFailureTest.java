@@ -0,0 +1,31 @@
+import java.io.File;
+import java.io.UncheckedIOException;
+
+// Journal Failure Test
+// When the journal can't write, flush() must not report the records as saved, and later
+// appends must be refused instead of queued behind the lost ones.
+public class JournalFailureTest {
+    public static void main(String[] args) throws Exception {
+        String dir = TestSupport.newDataDir();
+        File journalPath = new File(dir, "seminar_data.journal");
+        TestSupport.check(journalPath.mkdir(), "could not block the journal path"); // A directory can't be opened for append
+
+        ChangeJournal journal = new ChangeJournal(journalPath.getPath(), new File(dir, "seminar_data.bin").getPath(), seq -> new byte[0], new Metrics());
+        journal.append(Change.deleteUser("U1"));
+        TestSupport.check(throwsUnchecked(journal::flush), "flush reported a failed write as saved");
+        TestSupport.check(journal.getPendingCount() == 1, "failed record counted as written");
+        TestSupport.check(throwsUnchecked(() -> journal.append(Change.deleteUser("U2"))), "append accepted after the writer failed");
+        TestSupport.check(throwsUnchecked(journal::checkWritable), "journal still claims to be writable");
+        TestSupport.check(throwsUnchecked(journal::close), "close hid the failure");
+        System.out.println("JournalFailureTest passed");
+    }
+
+    private static boolean throwsUnchecked(Runnable r) {
+        try {
+            r.run();
+            return false;
+        } catch (UncheckedIOException e) {
+            return true;
+        }
+    }
+}
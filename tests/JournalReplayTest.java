@@ -0,0 +1,74 @@
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+
+// Journal Replay Test
+// Records come back in order after a restart, a torn last record (crash mid-append) is cut off
+// without losing the ones before it, and a checkpoint that was interrupted after setting its
+// segment aside still replays that segment ahead of the newer one.
+public class JournalReplayTest {
+    private static File dir;
+
+    public static void main(String[] args) throws Exception {
+        dir = new File(TestSupport.newDataDir());
+        File journalFile = new File(dir, "seminar_data.journal");
+
+        // Plain replay
+        ChangeJournal journal = open();
+        journal.replay();
+        for (int i = 1; i <= 5; i++) journal.append(Change.deleteUser("U" + i));
+        journal.close();
+        checkReplay(open(), 1, 5, "after a clean close");
+
+        // Torn tail: cut the last record in half
+        try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) { raf.setLength(raf.length() - 3); }
+        long torn = journalFile.length();
+        journal = open();
+        checkReplay(journal, 1, 4, "after a torn last record");
+        TestSupport.check(journalFile.length() < torn, "torn tail left in the file");
+        // New records go after the last good one
+        journal.resume(4);
+        journal.append(Change.deleteUser("U5"));
+        journal.append(Change.deleteUser("U6"));
+        journal.close();
+        checkReplay(open(), 1, 6, "after appending past a torn tail");
+
+        // Interrupted checkpoint: its segment was set aside, then the process stopped
+        File checkpointFile = new File(dir, "seminar_data.journal.checkpoint");
+        Files.move(journalFile.toPath(), checkpointFile.toPath());
+        journal = open();
+        journal.replay();
+        journal.resume(6);
+        journal.append(Change.deleteUser("U7"));
+        journal.close();
+        journal = open();
+        checkReplay(journal, 1, 7, "with an unfinished checkpoint segment");
+
+        // A checkpoint that completes covers both segments and removes them
+        journal.resume(7);
+        journal.checkpoint();
+        journal.flush();
+        TestSupport.check(!checkpointFile.exists(), "checkpoint segment left behind");
+        TestSupport.check(new String(Files.readAllBytes(new File(dir, "seminar_data.bin").toPath())).equals("snapshot@7"), "snapshot not written for seq 7");
+        journal.append(Change.deleteUser("U8"));
+        journal.close();
+        checkReplay(open(), 8, 8, "after a checkpoint");
+        System.out.println("JournalReplayTest passed");
+    }
+
+    private static ChangeJournal open() {
+        return new ChangeJournal(new File(dir, "seminar_data.journal").getPath(), new File(dir, "seminar_data.bin").getPath(),
+            seq -> ("snapshot@" + seq).getBytes(), new Metrics());
+    }
+
+    // Replays and expects the records numbered first..last, in order, each for user "U<seq>"
+    private static void checkReplay(ChangeJournal journal, int first, int last, String when) {
+        List<Change> changes = journal.replay();
+        TestSupport.check(changes.size() == last - first + 1, changes.size() + " records " + when);
+        for (int i = 0; i < changes.size(); i++) {
+            Change c = changes.get(i);
+            TestSupport.check(c.getSeq() == first + i && c.getOp() == Change.Op.DELETE_USER && c.getKey().equals("U" + (first + i)), "record " + c + " " + when);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Normalized Award Ranking Test
+// The z-score ranking and the evaluator figures must depend only on the current evaluations,
+// not on the order they were submitted in, nor on a restart.
+public class NormalizedRankingTest {
+    private static final int PRESENTATIONS = 60;
+    private static final int EVALUATORS = 6;
+
+    public static void main(String[] args) throws Exception {
+        // Every evaluator grades a random subset; evaluator i is lenient or strict by i
+        Random rnd = new Random(7);
+        List<String[]> submissions = new ArrayList<>(); // studentId, evaluatorId, s1..s4
+        for (int p = 0; p < PRESENTATIONS; p++) {
+            for (int ev = 0; ev < EVALUATORS; ev++) {
+                if (rnd.nextInt(3) == 0) continue;
+                int low = 1 + ev % 3;
+                String[] s = { "P" + p, "EV" + ev, "", "", "", "" };
+                for (int c = 2; c < 6; c++) s[c] = String.valueOf(low + rnd.nextInt(6 - low));
+                submissions.add(s);
+            }
+        }
+        // Some regrades, so replaced scores are covered too
+        List<String[]> regrades = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String[] s = submissions.get(rnd.nextInt(submissions.size())).clone();
+            s[2] = String.valueOf(1 + rnd.nextInt(5));
+            regrades.add(s);
+        }
+
+        String dirA = TestSupport.newDataDir();
+        SeminarManager a = load(dirA, submissions, regrades);
+
+        List<String[]> shuffled = new ArrayList<>(submissions);
+        Collections.shuffle(shuffled, new Random(11));
+        SeminarManager b = load(TestSupport.newDataDir(), shuffled, regrades);
+
+        for (PresentationType type : PresentationType.values()) {
+            List<String> rankingA = ranking(a, type);
+            TestSupport.check(!rankingA.isEmpty(), "no " + type + " ranking");
+            TestSupport.check(rankingA.equals(ranking(b, type)), type + " ranking depends on submission order:\n" + rankingA + "\n" + ranking(b, type));
+        }
+        for (int ev = 0; ev < EVALUATORS; ev++) {
+            ScoreNormalizer.Stats sa = a.getEvaluatorStats("EV" + ev), sb = b.getEvaluatorStats("EV" + ev);
+            TestSupport.check(sa.getCount() == sb.getCount() && sa.getMean() == sb.getMean() && sa.getStdDev() == sb.getStdDev(),
+                "EV" + ev + " figures depend on submission order");
+        }
+
+        // Same ranking after a restart (snapshot + journal replay)
+        List<String> before = ranking(a, PresentationType.ORAL);
+        a.shutdown();
+        SeminarManager reloaded = new SeminarManager(dirA);
+        TestSupport.check(before.equals(ranking(reloaded, PresentationType.ORAL)), "ranking changed after reload");
+        reloaded.shutdown();
+        b.shutdown();
+        System.out.println("NormalizedRankingTest passed");
+    }
+
+    private static SeminarManager load(String dir, List<String[]> submissions, List<String[]> regrades) {
+        SeminarManager m = new SeminarManager(dir);
+        for (int p = 0; p < PRESENTATIONS; p++) {
+            m.registerPresentation(new Presentation("P" + p, "Student " + p, "Title", "", "Sup", p % 2 == 0 ? "Oral" : "Poster", ""));
+        }
+        for (String[] s : submissions) submit(m, s);
+        for (String[] s : regrades) submit(m, s);
+        return m;
+    }
+
+    private static void submit(SeminarManager m, String[] s) {
+        m.addEvaluation(s[0], new Evaluation(s[1], Integer.parseInt(s[2]), Integer.parseInt(s[3]), Integer.parseInt(s[4]), Integer.parseInt(s[5]), "ok"));
+    }
+
+    private static List<String> ranking(SeminarManager m, PresentationType type) {
+        List<String> ids = new ArrayList<>();
+        for (Leaderboard.Entry e : m.getTopNormalized(type, PRESENTATIONS)) ids.add(e.getStudentId() + "=" + e.getScore());
+        return ids;
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Persistent Index Test
+// Every version of a PersistentIndex must keep its contents and order after later updates,
+// checked against a LinkedHashMap model over random puts, replaces and removes (enough to grow
+// the trie past 1024 slots and to trigger renumbering). SeminarSnapshots taken from the manager
+// must likewise stay as they were while the data changes.
+public class PersistentIndexTest {
+    public static void main(String[] args) throws Exception {
+        randomVersions();
+        removeAndReinsert();
+        snapshots();
+        System.out.println("PersistentIndexTest passed");
+    }
+
+    private static void randomVersions() {
+        Random rnd = new Random(7);
+        PersistentIndex<Integer> index = PersistentIndex.empty();
+        Map<String, Integer> model = new LinkedHashMap<>();
+        List<PersistentIndex<Integer>> versions = new ArrayList<>();
+        List<Map<String, Integer>> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) { // Three trie levels
+            index = index.put("K" + i, i);
+            model.put("K" + i, i);
+        }
+        for (int op = 0; op < 20000; op++) {
+            String key = "K" + rnd.nextInt(4000);
+            int r = rnd.nextInt(10);
+            if (r < 4) { // Put: a replaced entry moves to the end
+                index = index.put(key, op);
+                model.remove(key);
+                model.put(key, op);
+            } else if (r < 6) { // Replace: keeps its position
+                index = index.replace(key, op);
+                model.put(key, op);
+            } else {
+                index = index.remove(key);
+                model.remove(key);
+            }
+            if (op % 500 == 0) {
+                versions.add(index);
+                expected.add(new LinkedHashMap<>(model));
+            }
+        }
+        versions.add(index);
+        expected.add(model);
+        for (int v = 0; v < versions.size(); v++) checkSame(versions.get(v), expected.get(v), "version " + v);
+    }
+
+    private static void removeAndReinsert() {
+        PersistentIndex<String> index = PersistentIndex.empty();
+        for (String k : Arrays.asList("a", "b", "c", "d")) index = index.put(k, k.toUpperCase());
+        PersistentIndex<String> removed = index.remove("b");
+        PersistentIndex<String> back = removed.put("b", "B2");
+        TestSupport.check(removed.remove("b") == removed, "removing a missing key made a new version");
+        TestSupport.check(!removed.containsKey("b") && removed.get("b") == null && removed.size() == 3, "removed key still present");
+        TestSupport.check(new ArrayList<>(removed.values()).equals(Arrays.asList("A", "C", "D")), "order after remove: " + removed.values());
+        TestSupport.check("B2".equals(back.get("b")) && back.size() == 4, "re-inserted key missing");
+        TestSupport.check(new ArrayList<>(back.values()).equals(Arrays.asList("A", "C", "D", "B2")), "re-inserted key not at the end: " + back.values());
+        TestSupport.check(new ArrayList<>(index.values()).equals(Arrays.asList("A", "B", "C", "D")), "original changed: " + index.values());
+
+        // Removing everything, then adding again, renumbers the slots without losing anything
+        PersistentIndex<String> cleared = index;
+        for (String k : Arrays.asList("a", "b", "c", "d")) cleared = cleared.remove(k);
+        TestSupport.check(cleared.isEmpty() && !cleared.values().iterator().hasNext(), "cleared index not empty");
+        Map<String, String> model = new LinkedHashMap<>();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 40; i++) {
+                cleared = cleared.remove("r" + i).put("r" + i, round + ":" + i);
+                model.remove("r" + i);
+                model.put("r" + i, round + ":" + i);
+            }
+        }
+        checkSame(cleared, model, "after repeated remove and re-insert");
+    }
+
+    // Readers holding an older snapshot see none of the later writes
+    private static void snapshots() throws Exception {
+        SeminarManager m = new SeminarManager(TestSupport.newDataDir());
+        m.addUser(new Evaluator("E1", "Evaluator One", "pw"));
+        m.addUser(new Student("S1", "Student One", "pw"));
+        m.registerPresentation(new Presentation("S1", "Student One", "First", "Abstract", "Sup", "Oral", ""));
+        m.registerPresentation(new Presentation("S2", "Student Two", "Second", "Abstract", "Sup", "Oral", ""));
+        m.createSession(new SeminarSession("SS1", "20/04/2026", "09:00 - 10:00", "Hall A", "Oral"));
+        SeminarSnapshot before = m.snapshot();
+        String beforeText = describe(before);
+
+        m.addEvaluation("S1", new Evaluation("E1", 5, 5, 5, 5, "Good"));
+        m.updateVotes("S1", 9);
+        m.registerPresentation(new Presentation("S1", "Student One", "Retitled", "Abstract", "Sup", "Oral", ""));
+        m.assignToSession(m.getSession("SS1"), Arrays.asList("E1"), Arrays.asList("S1"));
+        m.deleteUser("E1");
+        m.deleteSession(m.getSession("SS1"));
+        m.flush();
+        SeminarSnapshot after = m.snapshot();
+
+        TestSupport.check(describe(before).equals(beforeText), "old snapshot changed:\n" + describe(before) + "\nwas:\n" + beforeText);
+        TestSupport.check(after.getVersion() > before.getVersion(), "version did not grow");
+        TestSupport.check(after.getUser("E1") == null && before.getUser("e1") != null, "deleted user");
+        TestSupport.check(after.getSession("SS1") == null && before.getSession("SS1").getEvaluatorIds().isEmpty(), "deleted session");
+        TestSupport.check(after.getPresentationByStudent("S1").getTitle().equals("Retitled"), "re-registration not published");
+        List<String> order = new ArrayList<>();
+        for (Presentation p : after.getAllPresentations()) order.add(p.getStudentId());
+        TestSupport.check(order.equals(Arrays.asList("S2", "S1")), "re-registered presentation not at the end: " + order);
+        try {
+            before.getPresentationByStudent("S1").setAudienceVotes(1);
+            TestSupport.check(false, "snapshot presentation can be modified");
+        } catch (UnsupportedOperationException expectedFailure) {
+            // Read-only, as it should be
+        }
+        m.shutdown();
+    }
+
+    private static <V> void checkSame(PersistentIndex<V> index, Map<String, V> model, String when) {
+        TestSupport.check(index.size() == model.size(), "size " + index.size() + " vs " + model.size() + " " + when);
+        TestSupport.check(new ArrayList<>(index.values()).equals(new ArrayList<>(model.values())), "iteration order " + when);
+        for (Map.Entry<String, V> e : model.entrySet()) TestSupport.check(e.getValue().equals(index.get(e.getKey())), "value of " + e.getKey() + " " + when);
+        for (int i = 0; i < 4000; i++) {
+            String key = "K" + i;
+            TestSupport.check(index.containsKey(key) == model.containsKey(key), "containsKey(" + key + ") " + when);
+        }
+    }
+
+    private static String describe(SeminarSnapshot s) {
+        StringBuilder sb = new StringBuilder("version ").append(s.getVersion()).append('\n');
+        for (User u : s.getAllUsers()) sb.append(u.getId()).append('\n');
+        for (Presentation p : s.getAllPresentations()) {
+            sb.append(p.getStudentId()).append('|').append(p.getTitle()).append('|').append(p.getAudienceVotes())
+                .append('|').append(p.getEvaluations().size()).append('\n');
+        }
+        for (SeminarSession ss : s.getAllSessions()) sb.append(ss.getSessionId()).append('|').append(ss.getEvaluatorIds()).append('|').append(ss.getStudentIds()).append('\n');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,116 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// Reviewer Assignment Test
+// On small random seminars, the min-cost flow must give every presentation as many reviewers
+// as it can have (at most N, each eligible and picked once) and reach the same cost as trying
+// every combination: evaluator loads as even as possible (sum of squared loads), then as many
+// picks as possible of evaluators who already scored the presentation.
+public class ReviewerAssignmentTest {
+    private static final int PER_PRESENTATION = 2;
+
+    public static void main(String[] args) throws Exception {
+        Random rnd = new Random(5);
+        for (int instance = 0; instance < 40; instance++) check(rnd, instance);
+        System.out.println("ReviewerAssignmentTest passed");
+    }
+
+    private static void check(Random rnd, int instance) throws Exception {
+        SeminarManager m = new SeminarManager(TestSupport.newDataDir());
+        int evaluators = 3 + rnd.nextInt(3), presentations = 3 + rnd.nextInt(3);
+        for (int e = 0; e < evaluators; e++) m.addUser(new Evaluator("E" + e, "Lim " + e, "pw"));
+        List<String> students = new ArrayList<>();
+        for (int p = 0; p < presentations; p++) {
+            // Some are supervised by one of the evaluators, who then may not review them
+            String supervisor = rnd.nextInt(3) == 0 ? "Dr. Lim " + rnd.nextInt(evaluators) : "Prof. Tan";
+            m.registerPresentation(new Presentation("S" + p, "Student " + p, "Title", "", supervisor, "Oral", ""));
+            if (rnd.nextBoolean()) m.addEvaluation("S" + p, new Evaluation("E" + rnd.nextInt(evaluators), 3, 3, 3, 3, ""));
+            students.add("S" + p);
+        }
+        // Two sessions at different times, each with a random panel and a random share of the presentations
+        for (int s = 0; s < 2; s++) {
+            SeminarSession session = new SeminarSession("SS" + s, "20/04/2026", (9 + 2 * s) + ":00 - " + (10 + 2 * s) + ":00", "Hall A", "Oral");
+            m.createSession(session);
+            List<String> panel = new ArrayList<>(), assigned = new ArrayList<>();
+            for (int e = 0; e < evaluators; e++) if (rnd.nextInt(3) > 0) panel.add("E" + e);
+            for (String sId : students) if (rnd.nextInt(3) > 0) assigned.add(sId);
+            m.assignToSession(session, panel, assigned);
+        }
+
+        // Who may review what, worked out independently of the assigner
+        List<String> inSession = new ArrayList<>();
+        List<List<String>> eligible = new ArrayList<>();
+        for (String sId : students) {
+            Set<String> pool = new LinkedHashSet<>();
+            boolean scheduled = false;
+            for (SeminarSession s : m.getSessionsInOrder()) {
+                if (!s.getStudentIds().contains(sId)) continue;
+                scheduled = true;
+                pool.addAll(s.getEvaluatorIds());
+            }
+            if (!scheduled) continue;
+            String supervisor = m.getPresentationByStudent(sId).getSupervisor();
+            List<String> ok = new ArrayList<>();
+            for (String e : pool) if (!supervisor.equals("Dr. Lim " + e.substring(1))) ok.add(e);
+            inSession.add(sId);
+            eligible.add(ok);
+        }
+
+        ReviewerAssigner.Result result = new ReviewerAssigner(m).assign(PER_PRESENTATION);
+        String where = "instance " + instance + ": " + result.getReviewers();
+        TestSupport.check(result.getReviewers().keySet().equals(new LinkedHashSet<>(inSession)), "presentations " + where);
+        int[] load = new int[evaluators];
+        long cost = 0;
+        for (int i = 0; i < inSession.size(); i++) {
+            String sId = inSession.get(i);
+            List<String> picked = result.getReviewers().get(sId);
+            int expected = Math.min(PER_PRESENTATION, eligible.get(i).size());
+            TestSupport.check(picked.size() == expected, sId + " got " + picked.size() + " of " + expected + " reviewers, " + where);
+            TestSupport.check(new LinkedHashSet<>(picked).size() == picked.size(), sId + " has a reviewer twice, " + where);
+            TestSupport.check(eligible.get(i).containsAll(picked), sId + " has an ineligible reviewer, " + where);
+            TestSupport.check(result.getShortfalls().stream().anyMatch(s -> s.startsWith(sId + " ")) == (expected < PER_PRESENTATION), sId + " shortfall, " + where);
+            for (String e : picked) {
+                load[Integer.parseInt(e.substring(1))]++;
+                if (!m.getPresentationByStudent(sId).isGradedBy(e)) cost++;
+            }
+        }
+        for (Map.Entry<String, Integer> e : result.getLoad().entrySet()) {
+            TestSupport.check(e.getValue() == load[Integer.parseInt(e.getKey().substring(1))], "load of " + e.getKey() + ", " + where);
+        }
+        cost += loadCost(load, inSession.size());
+        long best = cheapest(m, inSession, eligible, 0, new int[evaluators], 0);
+        TestSupport.check(cost == best, "cost " + cost + " but " + best + " is possible, " + where);
+        m.shutdown();
+    }
+
+    // Same weighting as the assigner: M outweighs every possible saving from kept scorers
+    private static long loadCost(int[] load, int presentations) {
+        long weight = (long) presentations * PER_PRESENTATION + 1, sum = 0;
+        for (int l : load) sum += (long) l * l;
+        return weight * sum;
+    }
+
+    // Tries every choice of reviewers for presentations i.. onwards
+    private static long cheapest(SeminarManager m, List<String> students, List<List<String>> eligible, int i, int[] load, long keptCost) {
+        if (i == students.size()) return keptCost + loadCost(load, students.size());
+        List<String> pool = eligible.get(i);
+        int k = Math.min(PER_PRESENTATION, pool.size());
+        long best = Long.MAX_VALUE;
+        for (int mask = 0; mask < 1 << pool.size(); mask++) {
+            if (Integer.bitCount(mask) != k) continue;
+            long extra = 0;
+            for (int b = 0; b < pool.size(); b++) {
+                if ((mask & 1 << b) == 0) continue;
+                load[Integer.parseInt(pool.get(b).substring(1))]++;
+                if (!m.getPresentationByStudent(students.get(i)).isGradedBy(pool.get(b))) extra++;
+            }
+            best = Math.min(best, cheapest(m, students, eligible, i + 1, load, keptCost + extra));
+            for (int b = 0; b < pool.size(); b++) if ((mask & 1 << b) != 0) load[Integer.parseInt(pool.get(b).substring(1))]--;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Reviewer Reassignment Test
+// Reviewer picks are made from a session's evaluators. Reassigning the session must not
+// leave a presentation whose picked reviewers are no longer there (nobody could grade it).
+public class ReviewerReassignmentTest {
+    public static void main(String[] args) throws Exception {
+        String dir = TestSupport.newDataDir();
+        SeminarManager m = new SeminarManager(dir);
+        for (int i = 1; i <= 4; i++) m.addUser(new Evaluator("EV" + i, "Evaluator " + i, "pass"));
+        List<String> students = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            m.registerPresentation(new Presentation("P" + i, "Student " + i, "Title", "", "Sup", "Oral", ""));
+            students.add("P" + i);
+        }
+        SeminarSession session = new SeminarSession("S1", "04/05/2026", "09:00 - 12:00", "Hall A", "Oral");
+        m.createSession(session);
+        m.assignToSession(session, Arrays.asList("EV1", "EV2"), students);
+
+        // One reviewer each: every presentation is now exclusive to EV1 or EV2
+        m.applyReviewerAssignment(new ReviewerAssigner(m).assign(1));
+        for (String sId : students) {
+            TestSupport.check(m.getPresentationByStudent(sId).getReviewerIds().size() == 1, sId + " has no reviewer pick");
+        }
+
+        // Saving the same assignment again keeps the picks
+        m.assignToSession(session, Arrays.asList("EV1", "EV2"), students);
+        for (String sId : students) {
+            TestSupport.check(!m.getPresentationByStudent(sId).getReviewerIds().isEmpty(), sId + " lost a still valid pick");
+        }
+
+        // New panel: the old picks are gone, so the new evaluators can grade everything
+        m.assignToSession(session, Arrays.asList("EV3", "EV4"), students);
+        for (String sId : students) {
+            TestSupport.check(m.isAssigned("EV3", sId) && m.isAssigned("EV4", sId), sId + " can't be graded by the new panel");
+            TestSupport.check(m.snapshot().getPresentationByStudent(sId).getReviewerIds().isEmpty(), sId + " snapshot still has old picks");
+        }
+        TestSupport.check(m.getAssignedPresentations("EV3").size() == students.size(), "EV3 worklist incomplete");
+
+        // Same after a restart (the change is replayed from the journal)
+        m.shutdown();
+        SeminarManager reloaded = new SeminarManager(dir);
+        for (String sId : students) TestSupport.check(reloaded.isAssigned("EV3", sId), sId + " not gradable after reload");
+        reloaded.shutdown();
+        System.out.println("ReviewerReassignmentTest passed");
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Score Columns Test
+// Removing a presentation fills each of its rows with the last row (swap-remove). That must
+// keep every other row intact, including when the two rows sit in different 1024-row chunks,
+// and views taken earlier must keep showing the rows as they were.
+public class ScoreColumnsTest {
+    public static void main(String[] args) {
+        chunkBoundary();
+        randomAgainstModel();
+        System.out.println("ScoreColumnsTest passed");
+    }
+
+    // Fill exactly one chunk, grow into a second, then swap rows from the second into the first
+    private static void chunkBoundary() {
+        ScoreColumns columns = new ScoreColumns();
+        Map<String, Map<String, Integer>> model = new LinkedHashMap<>();
+        for (int i = 0; i < 1024; i++) put(columns, model, "P" + i / 4, "E" + i % 4, 1 + i % 5);
+        ScoreColumns.View full = columns.view();
+        List<String> fullRows = rows(full);
+        TestSupport.check(full.size() == 1024, "first chunk holds " + full.size());
+
+        put(columns, model, "P256", "E0", 2); // Row 1024: the first of the second chunk
+        put(columns, model, "P256", "E1", 3);
+        TestSupport.check(columns.size() == 1026 && rows(columns.view()).equals(rows(model)), "after growing into a second chunk");
+        TestSupport.check(rows(full).equals(fullRows), "view of the full chunk changed when the next one was added");
+
+        // P0's rows are at the very start; their gaps are filled from the second chunk and the end of the first
+        ScoreColumns.View before = columns.view();
+        List<String> beforeRows = rows(before);
+        remove(columns, model, "P0");
+        TestSupport.check(columns.size() == 1022 && rows(columns.view()).equals(rows(model)), "after a swap-remove across chunks");
+        TestSupport.check(rows(before).equals(beforeRows) && rows(full).equals(fullRows), "older views changed by the swap-remove");
+
+        // Regrades after the move find the moved rows again
+        put(columns, model, "P256", "E0", 5);
+        put(columns, model, "P255", "E3", 4);
+        TestSupport.check(columns.size() == 1022 && rows(columns.view()).equals(rows(model)), "regrade of a moved row added a row");
+
+        // Back below one chunk, then across the boundary again
+        remove(columns, model, "P256");
+        remove(columns, model, "P1");
+        TestSupport.check(columns.size() == 1016 && rows(columns.view()).equals(rows(model)), "after shrinking into one chunk");
+        for (int i = 0; i < 20; i++) put(columns, model, "Q" + i, "E9", 3);
+        TestSupport.check(columns.size() == 1036 && rows(columns.view()).equals(rows(model)), "after growing again");
+        remove(columns, model, "P255"); // Removing the last presentation removes rows from the end too
+        TestSupport.check(rows(columns.view()).equals(rows(model)), "after removing rows at the end");
+    }
+
+    private static void randomAgainstModel() {
+        Random rnd = new Random(3);
+        ScoreColumns columns = new ScoreColumns();
+        Map<String, Map<String, Integer>> model = new LinkedHashMap<>();
+        List<ScoreColumns.View> views = new ArrayList<>();
+        List<List<String>> expected = new ArrayList<>();
+        for (int op = 0; op < 30000; op++) {
+            String p = "P" + rnd.nextInt(600);
+            if (rnd.nextInt(20) == 0) remove(columns, model, p);
+            else put(columns, model, p, "E" + rnd.nextInt(8), 1 + rnd.nextInt(5));
+            if (op % 1000 == 0) {
+                views.add(columns.view());
+                expected.add(rows(model));
+            }
+        }
+        TestSupport.check(columns.size() > 2 * 1024, "never got past two chunks: " + columns.size());
+        TestSupport.check(rows(columns.view()).equals(rows(model)), "final rows differ");
+        for (int i = 0; i < views.size(); i++) TestSupport.check(rows(views.get(i)).equals(expected.get(i)), "view " + i + " changed");
+    }
+
+    private static void put(ScoreColumns columns, Map<String, Map<String, Integer>> model, String p, String e, int score) {
+        columns.put(p, new Evaluation(e, score, score, 6 - score, 1, ""));
+        model.computeIfAbsent(p, k -> new LinkedHashMap<>()).put(e, score);
+    }
+
+    private static void remove(ScoreColumns columns, Map<String, Map<String, Integer>> model, String p) {
+        columns.removePresentation(p);
+        model.remove(p);
+    }
+
+    // Rows as sorted text (rows are in no particular order)
+    private static List<String> rows(ScoreColumns.View v) {
+        List<String> rows = new ArrayList<>();
+        for (int r = 0; r < v.size(); r++) {
+            rows.add(v.presentationId(v.presentation(r)) + " " + v.evaluatorId(v.evaluator(r)) + " "
+                + Arrays.asList(v.score(r, 0), v.score(r, 1), v.score(r, 2), v.score(r, 3)) + " " + v.total(r));
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static List<String> rows(Map<String, Map<String, Integer>> model) {
+        List<String> rows = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Integer>> p : model.entrySet()) {
+            for (Map.Entry<String, Integer> e : p.getValue().entrySet()) {
+                int s = e.getValue();
+                rows.add(p.getKey() + " " + e.getKey() + " " + Arrays.asList(s, s, 6 - s, 1) + " " + (s + s + 6 - s + 1));
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+}
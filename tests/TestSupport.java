@@ -0,0 +1,27 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+// Test Support
+// The project has no build tool or test framework, so each test is a plain class with a main()
+// that throws on the first failed check (exit code 1). Build and run from the project root:
+//   javac -d out model/*.java service/*.java view/*.java MainApp.java tests/*.java
+//   java -cp out NormalizedRankingTest
+public class TestSupport {
+    public static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+    // Fresh, empty data directory for a SeminarManager (removed again when the JVM exits)
+    public static String newDataDir() throws IOException {
+        File dir = Files.createTempDirectory("seminar-test").toFile();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(dir)));
+        return dir.getPath();
+    }
+
+    private static void delete(File f) {
+        File[] children = f.listFiles();
+        if (children != null) for (File c : children) delete(c);
+        f.delete();
+    }
+}
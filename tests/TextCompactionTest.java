@@ -0,0 +1,109 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+// Text Compaction Test
+// Replaced abstracts and comments leave dead entries in the text file. Compaction must
+// keep every text still referenced (readable before and after a restart) and drop the rest.
+public class TextCompactionTest {
+    public static void main(String[] args) throws Exception {
+        storeLevel();
+        managerLevel();
+        System.out.println("TextCompactionTest passed");
+    }
+
+    // Keep one text in ten; the rest become garbage
+    private static void storeLevel() throws Exception {
+        String dir = TestSupport.newDataDir();
+        TextStore store = new TextStore(new File(dir, "seminar_data.text").getPath(), 0, new Metrics());
+        List<TextRef> kept = new ArrayList<>();
+        List<String> keptText = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String text = longText("entry " + i, 1000);
+            TextRef ref = store.store(text);
+            if (i % 10 == 0) {
+                kept.add(ref);
+                keptText.add(text);
+            }
+        }
+        long before = store.size();
+        collectGarbage();
+        TestSupport.check(store.compactIfWasteful(), "90% dead file was not compacted");
+        TestSupport.check(store.getGeneration() == 1, "generation " + store.getGeneration());
+        TestSupport.check(store.size() * 9 < before, "compacted size " + store.size() + " of " + before);
+        for (int i = 0; i < kept.size(); i++) TestSupport.check(kept.get(i).load().equals(keptText.get(i)), "entry " + i + " changed");
+        TestSupport.check(!store.compactIfWasteful(), "compacted a file with no dead entries");
+
+        // New text goes to the new file and survives the next compaction, which deletes the old file
+        TextRef late = store.store(longText("late", 1000));
+        kept.clear();
+        for (int i = 0; i < 2000; i++) store.store(longText("junk " + i, 1000));
+        collectGarbage();
+        TestSupport.check(store.compactIfWasteful(), "second compaction skipped");
+        TestSupport.check(late.load().equals(longText("late", 1000)), "late entry changed");
+        TestSupport.check(!new File(dir, "seminar_data.text").exists(), "generation 0 file not deleted");
+        store.close();
+    }
+
+    // Regrades through the manager: the checkpoint compacts, and a restart still finds the text
+    private static void managerLevel() throws Exception {
+        String dir = TestSupport.newDataDir();
+        SeminarManager m = new SeminarManager(dir);
+        String abstractText = longText("abstract", 500); // Stored once, so it is moved by every compaction
+        m.registerPresentation(new Presentation("P1", "Student 1", "Title", abstractText, "Sup", "Oral", ""));
+        String comments = null;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                m.addEvaluation("P1", new Evaluation("E001", 1 + i % 5, 3, 3, 3, longText("round " + round + " regrade " + i, 2000)));
+            }
+            m.flush();
+            collectGarbage(); // The replaced comments are now unreachable
+            // Short comments stay out of the text store; enough of them fill the journal up to a checkpoint
+            for (int i = 0; i < 8000; i++) {
+                comments = "round " + round + " note " + i;
+                m.addEvaluation("P1", new Evaluation("E001", 1 + i % 5, 3, 3, 3, comments));
+            }
+            m.flush();
+            File[] generations = textFiles(dir);
+            TestSupport.check(generations.length <= 2, generations.length + " text files after round " + round);
+            // Files under 1 MB are left alone; without compaction this one would hold every round's 2 MB
+            TestSupport.check(newest(generations).length() < 1_100_000, "newest text file holds " + newest(generations).length() + " bytes");
+        }
+        m.shutdown();
+
+        SeminarManager reloaded = new SeminarManager(dir);
+        Presentation p = reloaded.getPresentationByStudent("P1");
+        TestSupport.check(p.getAbstractText().equals(abstractText), "abstract lost after compaction");
+        TestSupport.check(p.getEvaluations().get(0).getComments().equals(comments), "comments lost after compaction");
+        reloaded.shutdown();
+    }
+
+    private static String longText(String seed, int length) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) sb.append(seed).append(' ');
+        return sb.toString();
+    }
+
+    private static File[] textFiles(String dir) {
+        return new File(dir).listFiles((d, name) -> name.startsWith("seminar_data.text"));
+    }
+
+    // Highest generation (seminar_data.text, then .1, .2, ...)
+    private static File newest(File[] files) {
+        File newest = files[0];
+        for (File f : files) if (generation(f) > generation(newest)) newest = f;
+        return newest;
+    }
+
+    private static int generation(File f) {
+        String n = f.getName();
+        return n.equals("seminar_data.text") ? 0 : Integer.parseInt(n.substring("seminar_data.text.".length()));
+    }
+
+    private static void collectGarbage() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+// User Key Locale Test
+// IDs and venues match regardless of case. Under a Turkish default locale "I" lower-cases to
+// a dotless i (U+0131), so keys built with the default locale would stop matching "i".
+public class UserKeyLocaleTest {
+    public static void main(String[] args) throws Exception {
+        Locale.setDefault(new Locale("tr", "TR"));
+        SeminarManager m = new SeminarManager(TestSupport.newDataDir());
+        m.addUser(new Evaluator("ADMIN1", "Evaluator", "pw"));
+        TestSupport.check(m.getUser("admin1") != null && m.snapshot().getUser("admin1") != null, "lower-case ID not found");
+        TestSupport.check(m.getUser("ADMIN1") != null && m.snapshot().getUser("Admin1") != null, "mixed-case ID not found");
+        try {
+            m.addUser(new Student("admin1", "Duplicate", "pw"));
+            TestSupport.check(false, "same ID in another case was accepted");
+        } catch (IllegalArgumentException expected) {
+            // Already taken
+        }
+        TestSupport.check(SeminarManager.venueKey("HALL I").equals(SeminarManager.venueKey("hall i ")), "venue keys differ by case");
+
+        m.createSession(new SeminarSession("SS1", "20/04/2026", "09:00 - 10:00", "HALL I", "Oral"));
+        try {
+            m.createSession(new SeminarSession("SS2", "20/04/2026", "09:30 - 10:30", "hall i", "Oral"));
+            TestSupport.check(false, "double booking of the same venue accepted");
+        } catch (IllegalStateException expected) {
+            // Same venue, same time
+        }
+        m.assignToSession(m.getSession("SS1"), Arrays.asList("ADMIN1"), Arrays.asList());
+        m.deleteUser("Admin1");
+        TestSupport.check(m.getUser("ADMIN1") == null && m.snapshot().getUser("ADMIN1") == null, "user not deleted by ID in another case");
+        m.shutdown();
+        System.out.println("UserKeyLocaleTest passed");
+    }
+}
@@ -0,0 +1,38 @@
+// Vote Reset Test
+// Setting a count by hand or registering a presentation again starts its voting over:
+// the count and the ledger of who voted must restart together, also across a restart.
+public class VoteResetTest {
+    public static void main(String[] args) throws Exception {
+        String dir = TestSupport.newDataDir();
+        SeminarManager m = new SeminarManager(dir);
+        m.registerPresentation(new Presentation("P1", "Student 1", "Title", "", "Sup", "Oral", ""));
+        m.registerPresentation(new Presentation("P2", "Student 2", "Title", "", "Sup", "Oral", ""));
+        for (String voter : new String[] { "V1", "V2", "V3" }) {
+            TestSupport.check(m.castVote(voter, "P1") == SeminarManager.VoteResult.COUNTED, voter + " vote not counted");
+            TestSupport.check(m.castVote(voter, "P2") == SeminarManager.VoteResult.COUNTED, voter + " vote not counted");
+        }
+        TestSupport.check(m.castVote("V1", "P1") == SeminarManager.VoteResult.ALREADY_VOTED, "second vote counted");
+
+        // Coordinator override: P1's voters may vote again, P2 is untouched
+        m.updateVotes("P1", 0);
+        TestSupport.check(!m.hasVoted("V1", "P1"), "override kept the old voters");
+        TestSupport.check(m.castVote("V1", "P1") == SeminarManager.VoteResult.COUNTED, "voter blocked after override");
+        TestSupport.check(m.getVotes("P1") == 1, "count after override: " + m.getVotes("P1"));
+        TestSupport.check(m.hasVoted("V1", "P2") && m.getVotes("P2") == 3, "override touched another presentation");
+
+        // Re-registration: a new presentation nobody has voted for
+        m.registerPresentation(new Presentation("P2", "Student 2", "New Title", "", "Sup", "Oral", ""));
+        TestSupport.check(m.getVotes("P2") == 0 && !m.hasVoted("V2", "P2"), "re-registration kept old votes");
+        TestSupport.check(m.castVote("V2", "P2") == SeminarManager.VoteResult.COUNTED, "voter blocked after re-registration");
+
+        // Count and ledger still agree after a restart
+        m.shutdown();
+        SeminarManager reloaded = new SeminarManager(dir);
+        TestSupport.check(reloaded.getVotes("P1") == 1 && reloaded.getVotes("P2") == 1, "counts after reload");
+        TestSupport.check(reloaded.hasVoted("V1", "P1") && !reloaded.hasVoted("V2", "P1"), "P1 ledger after reload");
+        TestSupport.check(reloaded.hasVoted("V2", "P2") && !reloaded.hasVoted("V1", "P2"), "P2 ledger after reload");
+        TestSupport.check(reloaded.castVote("V3", "P1") == SeminarManager.VoteResult.COUNTED, "V3 blocked after reload");
+        reloaded.shutdown();
+        System.out.println("VoteResetTest passed");
+    }
+}
@@ -1,10 +1,17 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.io.FileWriter;
 import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 // The Main Coordinator Dashboard View
 // Contains 5 Tabs for Session Management, Assignments, Reports, Awards, and User Management
@@ -14,12 +21,12 @@ public class CoordinatorView extends JPanel {
     private JTabbedPane tabs;
 
     // --- Component References ---
-    private DefaultTableModel sessionTableModel;
+    private ManagerTableModel<SeminarSession> sessionTableModel;
     private JComboBox<SeminarSession> assignSessionBox;
     private JList<User> assignEvaluatorList;
     private JList<Presentation> assignPresenterList;
-    private DefaultTableModel voteTableModel; 
-    private DefaultTableModel userTableModel;
+    private VoteTableModel voteTableModel; 
+    private ManagerTableModel<User> userTableModel;
 
     public CoordinatorView(SeminarManager manager) {
         this.manager = manager;
@@ -46,7 +53,7 @@ public class CoordinatorView extends JPanel {
         JTextField dateField = new JTextField();
         JTextField timeField = new JTextField();
         JTextField venueField = new JTextField();
-        JComboBox<String> typeBox = new JComboBox<>(new String[]{"Oral", "Poster"});
+        JComboBox<PresentationType> typeBox = new JComboBox<>(PresentationType.values());
         JButton createBtn = new JButton("Create Session");
         
         formPanel.add(new JLabel("Date (DD/MM/YYYY):")); formPanel.add(dateField);
@@ -56,8 +63,19 @@ public class CoordinatorView extends JPanel {
         formPanel.add(new JLabel("")); formPanel.add(createBtn);
 
         // Table Panel (View Existing Sessions)
-        String[] cols = {"Session ID", "Date", "Time", "Venue", "Type"};
-        sessionTableModel = new DefaultTableModel(cols, 0);
+        sessionTableModel = new ManagerTableModel<SeminarSession>("Session ID", "Date", "Time", "Venue", "Type") {
+            @Override protected List<SeminarSession> loadRows() { return manager.getSessionsInOrder(); }
+            @Override protected Object keyOf(SeminarSession s) { return s.getSessionId(); }
+            @Override protected Object valueOf(SeminarSession s, int col) {
+                switch(col) {
+                    case 0: return s.getSessionId();
+                    case 1: return s.getDate();
+                    case 2: return s.getTime();
+                    case 3: return s.getVenue();
+                    default: return s.getType();
+                }
+            }
+        };
         JTable table = new JTable(sessionTableModel);
         JButton deleteBtn = new JButton("Delete Selected Session");
 
@@ -74,10 +92,13 @@ public class CoordinatorView extends JPanel {
                 dateField.getText(), 
                 timeField.getText(), 
                 venueField.getText(), 
-                (String)typeBox.getSelectedItem()
+                ((PresentationType) typeBox.getSelectedItem()).getLabel()
             );
 
-            manager.createSession(s); refreshAllData(); // Save and refresh
+            // Save and refresh (rejected if the venue is already booked at that time)
+            try {
+                manager.createSession(s); refreshAllData();
+            } catch(IllegalStateException ex) { JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage()); return; }
             
             // Clear form
             dateField.setText(""); timeField.setText(""); venueField.setText(""); 
@@ -89,22 +110,66 @@ public class CoordinatorView extends JPanel {
             int row = table.getSelectedRow(); 
             if(row == -1) return; // No selection
 
-            String sId = (String) sessionTableModel.getValueAt(row, 0);
-            
-            // Find and delete session
-            SeminarSession target = manager.getAllSessions().stream().filter(s -> s.getSessionId().equals(sId)).findFirst().orElse(null);
-            if(target != null) { manager.deleteSession(target); refreshAllData(); }
+            // Delete the session shown in that row
+            manager.deleteSession(sessionTableModel.rowAt(row)); refreshAllData();
         });
 
+        // Auto-Schedule Button (plans sessions for every presenter not yet in one)
+        JButton autoBtn = new JButton("Auto-Schedule Sessions...");
+        autoBtn.addActionListener(e -> autoSchedule());
+
+        JPanel sessionButtons = new JPanel(new GridLayout(1, 2, 5, 5));
+        sessionButtons.add(autoBtn); sessionButtons.add(deleteBtn);
+
         JPanel tablePanel = new JPanel(new BorderLayout()); 
         tablePanel.add(new JScrollPane(table), BorderLayout.CENTER); 
-        tablePanel.add(deleteBtn, BorderLayout.SOUTH);
+        tablePanel.add(sessionButtons, BorderLayout.SOUTH);
 
         panel.add(formPanel, BorderLayout.NORTH); 
         panel.add(tablePanel, BorderLayout.CENTER);
         return panel;
     }
 
+    // Ask for venues and time windows, show the proposed timetable, create it on confirmation
+    private void autoSchedule() {
+        JTextArea venuesArea = new JTextArea("Room A\nRoom B", 4, 30);
+        JTextArea windowsArea = new JTextArea("20/04/2026 09:00 - 12:00\n20/04/2026 14:00 - 17:00", 6, 30);
+        JSpinner capacity = new JSpinner(new SpinnerNumberModel(8, 1, 500, 1));
+        JSpinner evaluators = new JSpinner(new SpinnerNumberModel(2, 1, 50, 1));
+
+        JPanel form = new JPanel(new GridLayout(0, 1, 5, 5));
+        form.add(new JLabel("Venues (one per line):")); form.add(new JScrollPane(venuesArea));
+        form.add(new JLabel("Time windows (DD/MM/YYYY HH:MM - HH:MM, one per line):")); form.add(new JScrollPane(windowsArea));
+        form.add(new JLabel("Max presenters per session:")); form.add(capacity);
+        form.add(new JLabel("Evaluators per session:")); form.add(evaluators);
+        if(JOptionPane.showConfirmDialog(this, form, "Auto-Schedule Sessions", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+
+        List<String> venues = new ArrayList<>();
+        for(String v : venuesArea.getText().split("\n")) if(!v.trim().isEmpty()) venues.add(v.trim());
+        List<String[]> windows = new ArrayList<>();
+        for(String line : windowsArea.getText().split("\n")) {
+            String w = line.trim();
+            if(w.isEmpty()) continue;
+            int space = w.indexOf(' ');
+            if(space < 0) { JOptionPane.showMessageDialog(this, "Time window needs a date and a time: " + w); return; }
+            windows.add(new String[]{w.substring(0, space), w.substring(space + 1)});
+        }
+        if(venues.isEmpty() || windows.isEmpty()) { JOptionPane.showMessageDialog(this, "Please enter at least one venue and one time window."); return; }
+
+        Timetabler.Plan plan = new Timetabler(manager).plan(venues, windows, (Integer) capacity.getValue(), (Integer) evaluators.getValue());
+        if(plan.getSessions().isEmpty()) { JOptionPane.showMessageDialog(this, "Nothing to schedule.\n" + plan); return; }
+
+        JTextArea preview = new JTextArea(plan.toString(), 20, 70);
+        preview.setEditable(false);
+        int ok = JOptionPane.showConfirmDialog(this, new JScrollPane(preview), "Create these sessions?", JOptionPane.OK_CANCEL_OPTION);
+        if(ok != JOptionPane.OK_OPTION) return;
+        try {
+            manager.applyTimetable(plan);
+            refreshAllData();
+            JOptionPane.showMessageDialog(this, plan.getSessions().size() + " sessions created.");
+        } catch(IllegalStateException ex) { JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage()); }
+    }
+
     // --- TAB 2: Assign People ---
     // Oral to Oral Sessions, Posters to Poster Sessions
     private JPanel createAssignmentPanel() {
@@ -151,7 +216,7 @@ public class CoordinatorView extends JPanel {
 
             for(Presentation p : manager.getAllPresentations()) {
                 // Only show matching type presentations
-                if(p.getType().equalsIgnoreCase(s.getType())) {
+                if(s.accepts(p)) {
                     pModel.addElement(p);
                 }
             }
@@ -177,17 +242,44 @@ public class CoordinatorView extends JPanel {
             List<String> sIds = new ArrayList<>(); 
             for(Presentation p : assignPresenterList.getSelectedValuesList()) sIds.add(p.getStudentId());
            
-           // Pass to manager
-            manager.assignToSession(s, eIds, sIds); 
+           // Pass to manager (rejected if an evaluator is in another session at that time)
+            try {
+                manager.assignToSession(s, eIds, sIds); 
+            } catch(IllegalStateException ex) { JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage()); return; }
             JOptionPane.showMessageDialog(this, "Assignments Saved!");
         });
 
+        // Balance Reviewers Button (picks N reviewers per presentation from its session's evaluators)
+        JButton balanceBtn = new JButton("Balance Reviewers...");
+        balanceBtn.addActionListener(e -> balanceReviewers());
+
+        JPanel assignButtons = new JPanel(new GridLayout(1, 2, 5, 5));
+        assignButtons.add(saveBtn); assignButtons.add(balanceBtn);
+
         panel.add(top, BorderLayout.NORTH); 
         panel.add(center, BorderLayout.CENTER); 
-        panel.add(saveBtn, BorderLayout.SOUTH);
+        panel.add(assignButtons, BorderLayout.SOUTH);
         return panel;
     }
 
+    // Ask for reviewers per presentation, show the balanced assignment, save it on confirmation
+    private void balanceReviewers() {
+        JSpinner perPresentation = new JSpinner(new SpinnerNumberModel(2, 1, 20, 1));
+        JPanel form = new JPanel(new GridLayout(0, 1, 5, 5));
+        form.add(new JLabel("Reviewers per presentation:")); form.add(perPresentation);
+        if(JOptionPane.showConfirmDialog(this, form, "Balance Reviewers", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+
+        ReviewerAssigner.Result result = new ReviewerAssigner(manager).assign((Integer) perPresentation.getValue());
+        if(result.getReviewers().isEmpty()) { JOptionPane.showMessageDialog(this, "No presentations are assigned to sessions yet."); return; }
+
+        JTextArea preview = new JTextArea(result.toString(), 20, 60);
+        preview.setEditable(false);
+        int ok = JOptionPane.showConfirmDialog(this, new JScrollPane(preview), "Save these reviewers?", JOptionPane.OK_CANCEL_OPTION);
+        if(ok != JOptionPane.OK_OPTION) return;
+        manager.applyReviewerAssignment(result);
+        JOptionPane.showMessageDialog(this, "Reviewers saved for " + result.getReviewers().size() + " presentations.");
+    }
+
     // --- TAB 3: Reports & Analytics ---
     // Generate Seminar Schedule(.txt), Detailed Evaluation Report(.txt), Analytics Dashboard (live)
     private JPanel createReportPanel() {
@@ -196,11 +288,13 @@ public class CoordinatorView extends JPanel {
         JButton scheduleBtn = new JButton("Generate Seminar Schedule (.txt)");
         JButton reportBtn = new JButton("Generate Final Evaluation Report (.txt)");
         JButton analyticsBtn = new JButton("Show Analytics Dashboard");
+        JButton diagnosticsBtn = new JButton("Show Diagnostics");
 
         Dimension size = new Dimension(280, 50);
         scheduleBtn.setPreferredSize(size); 
         reportBtn.setPreferredSize(size);
         analyticsBtn.setPreferredSize(size);
+        diagnosticsBtn.setPreferredSize(size);
 
         // --- BUTTON STYLING (Pastel Theme) ---
         
@@ -226,10 +320,15 @@ public class CoordinatorView extends JPanel {
 
         // 1. Generate Schedule Text File
         scheduleBtn.addActionListener(e -> {
+            SeminarEvents.Report event = new SeminarEvents.Report();
+            event.begin();
+            long t0 = System.nanoTime();
             try (FileWriter fw = new FileWriter("Seminar_Schedule.txt")) {
                 fw.write("=== SEMINAR SCHEDULE ===\n\n");
                 
-                for(SeminarSession s : manager.getAllSessions()) {
+                SeminarSnapshot snap = manager.snapshot(); // Consistent even if sessions change while writing
+                List<SeminarSession> schedule = snap.getSessionsInOrder();
+                for(SeminarSession s : schedule) {
                     fw.write("SESSION: " + s.getSessionId() + "\n");
                     fw.write("  Date: " + s.getDate() + " | Time: " + s.getTime() + "\n");
                     fw.write("  Venue: " + s.getVenue() + " (" + s.getType() + ")\n");
@@ -239,8 +338,8 @@ public class CoordinatorView extends JPanel {
                     if(s.getEvaluatorIds().isEmpty()) fw.write("    (No evaluators assigned)\n");
                     else { 
                         for(String eId : s.getEvaluatorIds()) { 
-                            User u = manager.getUsersByRole(Evaluator.class).stream().filter(user -> user.getId().equals(eId)).findFirst().orElse(null); 
-                            fw.write("    - " + (u != null ? u.getUsername() : "Unknown") + " (" + eId + ")\n"); 
+                            User u = snap.getUser(eId); 
+                            fw.write("    - " + (u instanceof Evaluator ? u.getUsername() : "Unknown") + " (" + eId + ")\n"); 
                         } 
                     }
 
@@ -249,129 +348,112 @@ public class CoordinatorView extends JPanel {
                     if(s.getStudentIds().isEmpty()) fw.write("    (No presentations assigned yet)\n");
                     else { 
                         for(String studId : s.getStudentIds()) { 
-                            Presentation p = manager.getPresentationByStudent(studId); 
+                            Presentation p = snap.getPresentationByStudent(studId); 
                             if(p != null) fw.write("    - \"" + p.getTitle() + "\" by " + p.getStudentName() + "\n"); 
                         } 
                     }
                     fw.write("\n--------------------------------------------------\n\n");
                 }
+                fw.flush();
+                manager.getMetrics().timer("report.schedule").record(t0);
+                event.report = "schedule"; event.rows = schedule.size(); event.commit();
                 JOptionPane.showMessageDialog(this, "Schedule exported to 'Seminar_Schedule.txt'");
             } catch(Exception ex) { ex.printStackTrace(); }
         });
 
         // 2. Generate DETAILED Evaluation Report (Rubrics + Comments + Board IDs)
         reportBtn.addActionListener(e -> {
-            try (FileWriter fw = new FileWriter("Final_Evaluation_Report.txt")) {
-                fw.write("*************************************************************\n");
-                fw.write("              FINAL EVALUATION REPORT             \n");
-                fw.write("             Generated on: " + java.time.LocalDate.now() + "\n");
-                fw.write("*************************************************************\n\n");
-                
-                for(Presentation p : manager.getAllPresentations()) {
-                    // Header Info: Check if it's a Poster to add Board ID
-                    String typeStr = p.getType();
-                    if("Poster".equalsIgnoreCase(typeStr) && p.getBoardId() != null) {
-                        typeStr += " [Board: " + p.getBoardId() + "]";
-                    }
-
-                    fw.write(String.format("STUDENT: %-25s | ID: %s\n", p.getStudentName(), p.getStudentId()));
-                    fw.write(String.format("TITLE:   %-50s\n", p.getTitle()));
-                    fw.write(String.format("TYPE:    %-25s\n", typeStr));
-                    fw.write("-------------------------------------------------------------\n");
-
-                    if(p.getEvaluations().isEmpty()) {
-                        fw.write("STATUS:  PENDING (No evaluations yet)\n");
-                    } else {
-                        double totalSum = 0;
-                        
-                        // Loop through each evaluator's feedback
-                        for(Evaluation ev : p.getEvaluations()) {
-                            // Find Evaluator Name
-                            User u = manager.getUsersByRole(Evaluator.class).stream()
-                                .filter(user -> user.getId().equals(ev.getEvaluatorId()))
-                                .findFirst().orElse(null);
-                            String eName = (u != null) ? u.getUsername() : ev.getEvaluatorId();
-
-                            fw.write(String.format("   > Evaluator: %s\n", eName));
-                            // PRINT RUBRICS (Detailed Breakdown)
-                            fw.write(String.format("     [Scores] Clarity: %d | Method: %d | Results: %d | Pres: %d\n",
-                                ev.getScore1(), ev.getScore2(), ev.getScore3(), ev.getScore4()));
-                            // PRINT COMMENT
-                            fw.write(String.format("     [Comment] \"%s\"\n", ev.getComments()));
-                            fw.write("\n");
-                            
-                            totalSum += ev.getTotal();
-                        }
-                        
-                        // Final Average Calculation
-                        double avg = totalSum / p.getEvaluations().size();
-                        fw.write(String.format("FINAL AVERAGE SCORE: %.2f / 20.00\n", avg));
-                    }
-                    fw.write("=============================================================\n\n");
-                }
+            try {
+                new ReportExporter(manager).writeFinalReport(java.nio.file.Paths.get("Final_Evaluation_Report.txt"));
                 JOptionPane.showMessageDialog(this, "Detailed Report exported to 'Final_Evaluation_Report.txt'");
             } catch(Exception ex) { ex.printStackTrace(); }
         });
 
         // 3. Analytics Dashboard
         analyticsBtn.addActionListener(e -> {
-            int totalPres = manager.getAllPresentations().size();
+            SeminarSnapshot snap = manager.snapshot(); // All figures from the same moment
+            int totalPres = snap.getAllPresentations().size();
             int evaluated = 0;
             double sumScores = 0;
             int countScores = 0;
             
-            // Calculate stats
-            for(Presentation p : manager.getAllPresentations()) {
-                if(!p.getEvaluations().isEmpty()) {
+            // Calculate stats from each presentation's cached totals
+            for(Presentation p : snap.getAllPresentations()) {
+                ScoreAggregate sc = p.getScores();
+                if(sc.getCount() > 0) {
                     evaluated++;
-                    for(Evaluation ev : p.getEvaluations()) {
-                        sumScores += ev.getTotal();
-                        countScores++;
-                    }
+                    sumScores += sc.getTotalSum();
+                    countScores += sc.getCount();
                 }
             }
             double globalAvg = countScores > 0 ? sumScores / countScores : 0;
             int completion = totalPres > 0 ? (evaluated * 100 / totalPres) : 0;
+
+            // Distributions, session / evaluator breakdowns and rater agreement
+            AnalyticsEngine.Report analytics = new AnalyticsEngine(manager).compute();
             
             // Display in dialog
             String msg = ">> DATA ANALYTICS DASHBOARD <<\n\n" +
                          "Total Presentations Registered: " + totalPres + "\n" +
                          "Evaluation Progress: " + completion + "% (" + evaluated + "/" + totalPres + ")\n" +
                          "Overall Average Score: " + String.format("%.2f", globalAvg) + " / 20.00\n" +
-                         "Active Sessions: " + manager.getAllSessions().size();
+                         "Active Sessions: " + snap.getAllSessions().size() + "\n\n" +
+                         analytics;
             
-            JOptionPane.showMessageDialog(this, new JTextArea(msg), "Live Analytics", JOptionPane.INFORMATION_MESSAGE);
+            JTextArea text = new JTextArea(msg, 30, 100);
+            text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+            text.setEditable(false);
+            text.setCaretPosition(0);
+            JOptionPane.showMessageDialog(this, new JScrollPane(text), "Live Analytics", JOptionPane.INFORMATION_MESSAGE);
         });
 
+        // 4. Diagnostics (operation timings, counters, index sizes)
+        diagnosticsBtn.addActionListener(e -> showDiagnostics());
+
         panel.add(scheduleBtn); 
         panel.add(reportBtn); 
         panel.add(analyticsBtn);
+        panel.add(diagnosticsBtn);
         return panel;
     }
 
+    // Live metrics from the manager, refreshable and savable to a text file
+    private void showDiagnostics() {
+        JTextArea text = new JTextArea(manager.getMetrics().report(), 25, 90);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+
+        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn.addActionListener(e -> text.setText(manager.getMetrics().report()));
+        JButton saveBtn = new JButton("Save to Seminar_Diagnostics.txt");
+        saveBtn.addActionListener(e -> {
+            try {
+                manager.getMetrics().writeReport(java.nio.file.Paths.get("Seminar_Diagnostics.txt"));
+                JOptionPane.showMessageDialog(this, "Diagnostics saved to 'Seminar_Diagnostics.txt'");
+            } catch(Exception ex) { ex.printStackTrace(); }
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout());
+        buttons.add(refreshBtn); buttons.add(saveBtn);
+        JPanel content = new JPanel(new BorderLayout(5, 5));
+        content.add(new JScrollPane(text), BorderLayout.CENTER);
+        content.add(buttons, BorderLayout.SOUTH);
+        JOptionPane.showMessageDialog(this, content, "Diagnostics", JOptionPane.PLAIN_MESSAGE);
+    }
+
 // --- TAB 4: Awards and Voting---
     private JPanel createAwardPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
         // Editable Vote Table
-        String[] cols = {"Student", "Title", "Input Votes (Double Click)"};
-        voteTableModel = new DefaultTableModel(cols, 0) { 
-            @Override public boolean isCellEditable(int row, int col) { return col == 2; } 
-        };
+        voteTableModel = new VoteTableModel();
         JTable voteTable = new JTable(voteTableModel);
         
         // Save Votes
         JButton updateVotesBtn = new JButton("Save Vote Counts");
         updateVotesBtn.addActionListener(e -> {
             if(voteTable.isEditing()) voteTable.getCellEditor().stopCellEditing();
-            for(int i=0; i<voteTableModel.getRowCount(); i++) {
-                String sName = (String)voteTableModel.getValueAt(i, 0); String voteStr = (String)voteTableModel.getValueAt(i, 2);
-                try { 
-                    int v = Integer.parseInt(voteStr); 
-                    Presentation p = manager.getAllPresentations().stream().filter(pres -> pres.getStudentName().equals(sName)).findFirst().orElse(null); 
-                    if(p != null) manager.updateVotes(p.getStudentId(), v); 
-                } catch(NumberFormatException ex) {}
-            }
+            voteTableModel.saveEdits();
             JOptionPane.showMessageDialog(this, "Votes Saved!");
         });
 
@@ -380,20 +462,21 @@ public class CoordinatorView extends JPanel {
         // Calculate Winners
         JButton calculateBtn = new JButton("Generate Award Winners");
         calculateBtn.addActionListener(e -> {
-            Presentation bestOral = null, bestPoster = null, peopleChoice = null; 
-            double maxOral = -1, maxPoster = -1; int maxVote = -1;
-        
-            for(Presentation p : manager.getAllPresentations()) {
-                double avg = p.getEvaluations().stream().mapToInt(Evaluation::getTotal).average().orElse(0.0);
-                if(p.getType().equals("Oral") && avg > maxOral) { maxOral = avg; bestOral = p; }
-                if(p.getType().equals("Poster") && avg > maxPoster) { maxPoster = avg; bestPoster = p; }
-                if(p.getAudienceVotes() > maxVote) { maxVote = p.getAudienceVotes(); peopleChoice = p; }
-            }
+            // Winners come straight off the manager's ranked boards (ties broken deterministically)
+            List<Leaderboard.Entry> bestOral = manager.getTopPresentations(PresentationType.ORAL, 1);
+            List<Leaderboard.Entry> bestPoster = manager.getTopPresentations(PresentationType.POSTER, 1);
+            List<Leaderboard.Entry> peopleChoice = manager.getTopVoted(1);
 
             StringBuilder sb = new StringBuilder(">> CURRENT BEST PRESENTER <<\n\n");
-            sb.append("BEST AWARD (Oral):   ").append(bestOral != null ? bestOral.getStudentName() + " ("+String.format("%.2f", maxOral)+")" : "-").append("\n");
-            sb.append("BEST AWARD (Poster): ").append(bestPoster != null ? bestPoster.getStudentName() + " ("+String.format("%.2f", maxPoster)+")" : "-").append("\n");
-            sb.append("PEOPLE'S CHOICE:     ").append(peopleChoice != null ? peopleChoice.getStudentName() + " ("+maxVote+" votes)" : "-").append("\n");
+            sb.append("BEST AWARD (Oral):   ").append(!bestOral.isEmpty() ? bestOral.get(0).getPresentation().getStudentName() + " ("+String.format("%.2f", bestOral.get(0).getScore())+")" : "-").append("\n");
+            sb.append("BEST AWARD (Poster): ").append(!bestPoster.isEmpty() ? bestPoster.get(0).getPresentation().getStudentName() + " ("+String.format("%.2f", bestPoster.get(0).getScore())+")" : "-").append("\n");
+            sb.append("PEOPLE'S CHOICE:     ").append(!peopleChoice.isEmpty() ? peopleChoice.get(0).getPresentation().getStudentName() + " ("+(int) peopleChoice.get(0).getScore()+" votes)" : "-").append("\n");
+
+            // Same awards with each evaluator's leniency or strictness taken out (average z-score)
+            List<Leaderboard.Entry> fairOral = manager.getTopNormalized(PresentationType.ORAL, 1);
+            List<Leaderboard.Entry> fairPoster = manager.getTopNormalized(PresentationType.POSTER, 1);
+            sb.append("\nNORMALIZED (Oral):   ").append(!fairOral.isEmpty() ? fairOral.get(0).getPresentation().getStudentName() + " (z "+String.format("%+.2f", fairOral.get(0).getScore())+")" : "-").append("\n");
+            sb.append("NORMALIZED (Poster): ").append(!fairPoster.isEmpty() ? fairPoster.get(0).getPresentation().getStudentName() + " (z "+String.format("%+.2f", fairPoster.get(0).getScore())+")" : "-").append("\n");
             resultsArea.setText(sb.toString());
         });
 
@@ -473,8 +556,23 @@ public class CoordinatorView extends JPanel {
         form.add(new JLabel("")); form.add(addBtn);
 
         // User Table
-        String[] cols = {"User ID", "Name", "Role"};
-        userTableModel = new DefaultTableModel(cols, 0);
+        userTableModel = new ManagerTableModel<User>("User ID", "Name", "Role") {
+            @Override protected List<User> loadRows() {
+                List<User> allUsers = new ArrayList<>();
+                allUsers.addAll(manager.getUsersByRole(Student.class));
+                allUsers.addAll(manager.getUsersByRole(Evaluator.class));
+                allUsers.addAll(manager.getUsersByRole(Coordinator.class));
+                return allUsers;
+            }
+            @Override protected Object keyOf(User u) { return u.getId(); }
+            @Override protected Object valueOf(User u, int col) {
+                switch(col) {
+                    case 0: return u.getId();
+                    case 1: return u.getUsername();
+                    default: return u.getClass().getSimpleName();
+                }
+            }
+        };
         JTable table = new JTable(userTableModel);
         
         // Add User Logic
@@ -503,47 +601,187 @@ public class CoordinatorView extends JPanel {
             int row = table.getSelectedRow();
             if(row == -1) { JOptionPane.showMessageDialog(this, "Select a user to remove."); return; }
             
-            String uid = (String) userTableModel.getValueAt(row, 0);
+            String uid = userTableModel.rowAt(row).getId();
             manager.deleteUser(uid); 
             refreshAllData();
             JOptionPane.showMessageDialog(this, "User Removed.");
         });
 
+        // Bulk Import Logic (CSV or JSON file of users, presentations or assignments)
+        JButton importBtn = new JButton("Bulk Import (CSV/JSON)...");
+        importBtn.addActionListener(e -> {
+            BulkImporter.Kind kind = (BulkImporter.Kind) JOptionPane.showInputDialog(this, "What does the file contain?",
+                "Bulk Import", JOptionPane.QUESTION_MESSAGE, null, BulkImporter.Kind.values(), BulkImporter.Kind.USERS);
+            if(kind == null) return;
+            boolean replace = false;
+            if(kind == BulkImporter.Kind.PRESENTATIONS) {
+                int answer = JOptionPane.showConfirmDialog(this, "Replace presentations students already have?\n(Their evaluations and votes are discarded.)",
+                    "Bulk Import", JOptionPane.YES_NO_CANCEL_OPTION);
+                if(answer == JOptionPane.CANCEL_OPTION || answer == JOptionPane.CLOSED_OPTION) return;
+                replace = answer == JOptionPane.YES_OPTION;
+            }
+            JFileChooser fc = new JFileChooser();
+            if(fc.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+            try (Reader in = Files.newBufferedReader(fc.getSelectedFile().toPath(), StandardCharsets.UTF_8)) {
+                BulkImporter.Report report = manager.importData(kind, in, replace);
+                refreshAllData();
+                JOptionPane.showMessageDialog(this, new JScrollPane(new JTextArea(report.toString(), 15, 60)), "Import Result", JOptionPane.INFORMATION_MESSAGE);
+            } catch(Exception ex) {
+                ex.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Import failed: " + ex.getMessage());
+            }
+        });
+
+        JPanel buttons = new JPanel(new GridLayout(1, 2, 5, 5));
+        buttons.add(importBtn); buttons.add(deleteUserBtn);
+
         panel.add(form, BorderLayout.NORTH); 
         panel.add(new JScrollPane(table), BorderLayout.CENTER); 
-        panel.add(deleteUserBtn, BorderLayout.SOUTH);
+        panel.add(buttons, BorderLayout.SOUTH);
         return panel;
     }
 
     // --- REFRESH ALL DATA IN TABS ---
+    // Tables read their cells straight from the manager, so only added/removed
+    // rows need re-listing; if nothing changed this does no work at all.
     private void refreshAllData() {
-        // Refresh Session Table 
-        sessionTableModel.setRowCount(0); assignSessionBox.removeAllItems();
-        for(SeminarSession s : manager.getAllSessions()) {
-            sessionTableModel.addRow(new Object[]{s.getSessionId(), s.getDate(), s.getTime(), s.getVenue(), s.getType()});
-            assignSessionBox.addItem(s);
+        // Refresh Session Table (and the session picker when sessions changed)
+        if(sessionTableModel.sync()) {
+            assignSessionBox.removeAllItems();
+            for(SeminarSession s : manager.getSessionsInOrder()) assignSessionBox.addItem(s);
+
+            // Clear Assignment Lists
+            ((DefaultListModel<User>)assignEvaluatorList.getModel()).clear();
+            ((DefaultListModel<Presentation>)assignPresenterList.getModel()).clear();
         }
-
-        // Clear Assignment Lists
-        ((DefaultListModel<User>)assignEvaluatorList.getModel()).clear();
-        ((DefaultListModel<Presentation>)assignPresenterList.getModel()).clear();
         
         // Refresh User Management Table
-        if(userTableModel != null) {
-            userTableModel.setRowCount(0);
-            List<User> allUsers = new ArrayList<>();
-            allUsers.addAll(manager.getUsersByRole(Student.class));
-            allUsers.addAll(manager.getUsersByRole(Evaluator.class));
-            allUsers.addAll(manager.getUsersByRole(Coordinator.class));
-            for(User u : allUsers) userTableModel.addRow(new Object[]{u.getId(), u.getUsername(), u.getClass().getSimpleName()});
-        }
+        if(userTableModel != null) userTableModel.sync();
         
         // Refresh Voting Table
-        if(voteTableModel != null) {
-            voteTableModel.setRowCount(0);
-            for(Presentation p : manager.getAllPresentations()) {
-                voteTableModel.addRow(new Object[]{p.getStudentName(), p.getTitle(), ""+p.getAudienceVotes()});
+        if(voteTableModel != null) voteTableModel.sync(); // Vote cells always show live counts when painted
+    }
+
+    // --- TABLE MODELS ---
+    // Holds only references to the manager's objects; cell text is produced on demand
+    // for the rows JTable actually paints. Rows are re-listed only when the manager's
+    // data version shows something was added or removed, and the table is told just
+    // which rows went, came or were replaced, so its selection and scroll survive.
+    private abstract class ManagerTableModel<T> extends AbstractTableModel {
+        private static final long serialVersionUID = 1L; // Never serialized (AbstractTableModel is Serializable)
+        private final String[] cols;
+        private List<T> rows = new ArrayList<>();
+        private long seenVersion = -1;
+
+        ManagerTableModel(String... cols) { this.cols = cols; }
+
+        protected abstract List<T> loadRows();
+        protected abstract Object keyOf(T row); // Same for a row's object before and after the manager replaces it
+        protected abstract Object valueOf(T row, int col);
+
+        // Returns true if the rows were re-listed
+        boolean sync() {
+            long version = manager.getDataVersion();
+            if(version == seenVersion) return false;
+            seenVersion = version;
+            List<T> fresh = loadRows();
+
+            // Rows that are gone, last first so the indexes still hold
+            Set<Object> freshKeys = new HashSet<>();
+            for(T t : fresh) freshKeys.add(keyOf(t));
+            for(int i = rows.size() - 1; i >= 0; i--) {
+                if(freshKeys.contains(keyOf(rows.get(i)))) continue;
+                rows.remove(i);
+                fireTableRowsDeleted(i, i);
+            }
+
+            // Walk the new list: a kept row in its place is refreshed if the manager replaced
+            // it, a new row is slotted in. A kept row that moved means the order changed, which
+            // single-row events can't express, so then the whole table is re-read.
+            Set<Object> kept = new HashSet<>();
+            for(T t : rows) kept.add(keyOf(t));
+            for(int i = 0; i < fresh.size(); i++) {
+                T t = fresh.get(i);
+                Object key = keyOf(t);
+                if(i < rows.size() && keyOf(rows.get(i)).equals(key)) {
+                    if(rows.get(i) != t) {
+                        rows.set(i, t);
+                        fireTableRowsUpdated(i, i);
+                    }
+                } else if(kept.contains(key)) {
+                    rows = new ArrayList<>(fresh);
+                    fireTableDataChanged();
+                    return true;
+                } else {
+                    rows.add(i, t);
+                    fireTableRowsInserted(i, i);
+                }
+            }
+            return true;
+        }
+
+        T rowAt(int row) { return rows.get(row); }
+
+        @Override public int getRowCount() { return rows.size(); }
+        @Override public int getColumnCount() { return cols.length; }
+        @Override public String getColumnName(int col) { return cols[col]; }
+        @Override public Object getValueAt(int row, int col) { return valueOf(rows.get(row), col); }
+    }
+
+    // Vote table: the vote column is editable; edits are held until "Save Vote Counts"
+    private class VoteTableModel extends ManagerTableModel<Presentation> {
+        private static final long serialVersionUID = 1L; // Never serialized (AbstractTableModel is Serializable)
+        private final Map<String, String> edits = new HashMap<>(); // Student ID -> typed value (kept while rows come and go)
+
+        VoteTableModel() { super("Student", "Title", "Input Votes (Double Click)"); }
+
+        @Override protected List<Presentation> loadRows() {
+            List<Presentation> all = new ArrayList<>(manager.getAllPresentations());
+            Set<String> ids = new HashSet<>();
+            for(Presentation p : all) ids.add(p.getStudentId());
+            edits.keySet().retainAll(ids); // Drop edits for removed presentations
+            return all;
+        }
+
+        @Override protected Object keyOf(Presentation p) { return p.getStudentId(); }
+
+        @Override protected Object valueOf(Presentation p, int col) {
+            switch(col) {
+                case 0: return p.getStudentName();
+                case 1: return p.getTitle();
+                default: return "" + manager.getVotes(p.getStudentId()); // Includes live votes
+            }
+        }
+
+        @Override public Object getValueAt(int row, int col) {
+            if(col == 2) {
+                String typed = edits.get(rowAt(row).getStudentId());
+                if(typed != null) return typed;
+            }
+            return super.getValueAt(row, col);
+        }
+
+        @Override public boolean isCellEditable(int row, int col) { return col == 2; }
+
+        @Override public void setValueAt(Object value, int row, int col) {
+            edits.put(rowAt(row).getStudentId(), String.valueOf(value));
+            fireTableCellUpdated(row, col);
+        }
+
+        // Push edited counts to the manager (unchanged or invalid entries are skipped)
+        void saveEdits() {
+            for(int row = 0; row < getRowCount(); row++) {
+                Presentation p = rowAt(row);
+                String typed = edits.get(p.getStudentId());
+                if(typed == null) continue;
+                try {
+                    int v = Integer.parseInt(typed.trim());
+                    if(manager.getVotes(p.getStudentId()) != v) manager.updateVotes(p.getStudentId(), v);
+                } catch(NumberFormatException ex) {}
+                fireTableRowsUpdated(row, row);
             }
+            edits.clear();
         }
     }
-}
\ No newline at end of file
+}
@@ -30,16 +30,9 @@ public class EvaluatorView extends JPanel {
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // --- LEFT SIDE: LIST of Assigned Proposal ---
+        // Presentations from every session this evaluator is assigned to
         DefaultListModel<Presentation> listModel = new DefaultListModel<>();
-        for(SeminarSession s : manager.getAllSessions()) {
-            if(s.getEvaluatorIds().contains(evaluator.getId())) {
-                // If assigned to this session, load all its students
-                for(String sId : s.getStudentIds()) {
-                    Presentation p = manager.getPresentationByStudent(sId);
-                    if(p != null) listModel.addElement(p);
-                }
-            }
-        }
+        for(Presentation p : manager.getAssignedPresentations(evaluator.getId())) listModel.addElement(p);
         
         pList = new JList<>(listModel);
         pList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
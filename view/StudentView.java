@@ -13,7 +13,7 @@ public class StudentView extends JPanel {
         JTextField title = new JTextField(20);
         JTextArea abs = new JTextArea(5, 20);
         JTextField sup = new JTextField(15);
-        JComboBox<String> type = new JComboBox<>(new String[]{"Oral", "Poster"});
+        JComboBox<PresentationType> type = new JComboBox<>(PresentationType.values());
         JButton upload = new JButton("Upload File (Select)");
         JButton register = new JButton("Register");
         
@@ -44,7 +44,7 @@ public class StudentView extends JPanel {
                 title.getText(), 
                 abs.getText(), 
                 sup.getText(),
-                (String)type.getSelectedItem(),
+                ((PresentationType) type.getSelectedItem()).getLabel(),
                  filePath[0]
             );
             // Save to Manager